@@ -0,0 +1,120 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.benchmark.action.bulk;
+
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemRequest;
+import org.elasticsearch.action.bulk.BulkShardRequest;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.benchmark.common.io.stream.Serialization;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentFactory;
+import org.elasticsearch.index.shard.ShardId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serialization of the {@link BulkShardRequest} that a coordinating node sends to a primary and a primary sends to its replicas.
+ * The items are log-like documents with a configurable number of fields; a few of them are deletes.
+ */
+@Fork(3)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") //invoked by benchmarking framework
+public class BulkShardRequestSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    public int numItems;
+
+    @Param({"10", "50"})
+    public int numFields;
+
+    private BulkShardRequest request;
+    private BytesReference serializedRequest;
+    private BytesStreamOutput output;
+
+    @Setup
+    public void setUp() throws IOException {
+        final Random random = new Random(42);
+        final ShardId shardId = new ShardId("logs-2019.10.01", "_na_", 0);
+        final BulkItemRequest[] items = new BulkItemRequest[numItems];
+        for (int i = 0; i < numItems; i++) {
+            final DocWriteRequest<?> docWriteRequest;
+            if (random.nextInt(20) == 0) {
+                docWriteRequest = new DeleteRequest(shardId.getIndexName(), "id_" + random.nextInt(numItems));
+            } else {
+                docWriteRequest = new IndexRequest(shardId.getIndexName()).id("id_" + i).source(randomDocument(random, numFields));
+            }
+            items[i] = new BulkItemRequest(i, docWriteRequest);
+        }
+        request = new BulkShardRequest(shardId, WriteRequest.RefreshPolicy.NONE, items);
+        serializedRequest = Serialization.serialize(request);
+        output = new BytesStreamOutput(serializedRequest.length());
+    }
+
+    private static XContentBuilder randomDocument(Random random, int numFields) throws IOException {
+        final XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
+        builder.field("@timestamp", 1_569_888_000_000L + random.nextInt(86_400_000));
+        builder.field("host", "host-" + random.nextInt(100));
+        builder.field("message", "GET /api/v1/items/" + random.nextInt(100_000) + " HTTP/1.1 " + (random.nextBoolean() ? 200 : 404));
+        for (int i = 3; i < numFields; i++) {
+            if (random.nextBoolean()) {
+                builder.field("field_" + i, random.nextLong());
+            } else {
+                builder.field("field_" + i, "value_" + random.nextInt(1000));
+            }
+        }
+        return builder.endObject();
+    }
+
+    @Benchmark
+    public int serialize() throws IOException {
+        output.reset();
+        request.writeTo(output);
+        return output.size();
+    }
+
+    @Benchmark
+    public BulkShardRequest deserialize() throws IOException {
+        try (StreamInput in = serializedRequest.streamInput()) {
+            return new BulkShardRequest(in);
+        }
+    }
+}
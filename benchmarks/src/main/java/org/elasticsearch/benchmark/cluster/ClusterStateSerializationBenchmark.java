@@ -0,0 +1,172 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.benchmark.cluster;
+
+import org.elasticsearch.Version;
+import org.elasticsearch.benchmark.common.io.stream.Serialization;
+import org.elasticsearch.benchmark.routing.allocation.Allocators;
+import org.elasticsearch.cluster.ClusterName;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.Diff;
+import org.elasticsearch.cluster.metadata.IndexMetaData;
+import org.elasticsearch.cluster.metadata.MetaData;
+import org.elasticsearch.cluster.node.DiscoveryNode;
+import org.elasticsearch.cluster.node.DiscoveryNodeRole;
+import org.elasticsearch.cluster.node.DiscoveryNodes;
+import org.elasticsearch.cluster.routing.RoutingTable;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.settings.Settings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures computing, serializing and applying the cluster state diff that the master publishes when a daily index is created,
+ * as well as serializing the full cluster state that is sent to nodes which cannot apply a diff.
+ */
+@Fork(3)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") //invoked by benchmarking framework
+public class ClusterStateSerializationBenchmark {
+
+    @Param({
+        // indices| shards| nodes
+        "      100|      5|    10",
+        "     1000|      5|    50",
+        "     5000|      1|   100"
+    })
+    public String indicesShardsNodes = "100|5|10";
+
+    private NamedWriteableRegistry registry;
+    private DiscoveryNode localNode;
+    private ClusterState previousState;
+    private ClusterState currentState;
+    private Diff<ClusterState> diff;
+    private BytesReference serializedDiff;
+    private BytesReference serializedState;
+
+    @Setup
+    public void setUp() throws IOException {
+        final String[] params = indicesShardsNodes.split("\\|");
+        final int numIndices = toInt(params[0]);
+        final int numShards = toInt(params[1]);
+        final int numNodes = toInt(params[2]);
+
+        registry = Serialization.namedWriteableRegistry();
+        // reading discovery nodes requires the known roles, which a node sets up on startup
+        DiscoveryNode.setPossibleRoles(DiscoveryNodeRole.BUILT_IN_ROLES);
+
+        final MetaData.Builder mb = MetaData.builder();
+        final RoutingTable.Builder rb = RoutingTable.builder();
+        for (int i = 0; i < numIndices; i++) {
+            final IndexMetaData indexMetaData = indexMetaData("logs-" + i, numShards);
+            mb.put(indexMetaData, false);
+            rb.addAsNew(indexMetaData);
+        }
+        final DiscoveryNodes.Builder nb = DiscoveryNodes.builder();
+        for (int i = 0; i < numNodes; i++) {
+            nb.add(Allocators.newNode("node_" + i, Collections.emptyMap()));
+        }
+        localNode = Allocators.newNode("node_" + numNodes, Collections.emptyMap());
+        nb.add(localNode).localNodeId(localNode.getId()).masterNodeId(localNode.getId());
+        previousState = ClusterState.builder(ClusterName.CLUSTER_NAME_SETTING.getDefault(Settings.EMPTY))
+            .metaData(mb).routingTable(rb.build()).nodes(nb).build();
+
+        // the typical change: one more index created from the same template
+        final IndexMetaData newIndex = indexMetaData("logs-" + numIndices, numShards);
+        currentState = ClusterState.builder(previousState).incrementVersion()
+            .metaData(MetaData.builder(previousState.metaData()).put(newIndex, false))
+            .routingTable(RoutingTable.builder(previousState.routingTable()).addAsNew(newIndex).build())
+            .build();
+
+        diff = currentState.diff(previousState);
+        serializedDiff = Serialization.serialize(diff);
+        serializedState = Serialization.serialize(currentState);
+    }
+
+    private static IndexMetaData indexMetaData(String name, int numShards) throws IOException {
+        return IndexMetaData.builder(name)
+            .settings(Settings.builder().put(IndexMetaData.SETTING_VERSION_CREATED, Version.CURRENT))
+            .numberOfShards(numShards)
+            .numberOfReplicas(1)
+            .putMapping("_doc", "{\"_doc\":{\"properties\":{" +
+                "\"@timestamp\":{\"type\":\"date\"}," +
+                "\"host\":{\"type\":\"keyword\"}," +
+                "\"message\":{\"type\":\"text\"}," +
+                "\"status\":{\"type\":\"short\"}," +
+                "\"bytes\":{\"type\":\"long\"}}}}")
+            .build();
+    }
+
+    private int toInt(String v) {
+        return Integer.valueOf(v.trim());
+    }
+
+    @Benchmark
+    public Diff<ClusterState> computeDiff() {
+        return currentState.diff(previousState);
+    }
+
+    @Benchmark
+    public int serializeDiff() throws IOException {
+        BytesStreamOutput out = new BytesStreamOutput();
+        diff.writeTo(out);
+        return out.size();
+    }
+
+    @Benchmark
+    public ClusterState readAndApplyDiff() throws IOException {
+        try (StreamInput in = Serialization.streamInput(serializedDiff, registry)) {
+            return ClusterState.readDiffFrom(in, localNode).apply(previousState);
+        }
+    }
+
+    @Benchmark
+    public int serializeFullState() throws IOException {
+        BytesStreamOutput out = new BytesStreamOutput();
+        currentState.writeTo(out);
+        return out.size();
+    }
+
+    @Benchmark
+    public ClusterState readFullState() throws IOException {
+        try (StreamInput in = Serialization.streamInput(serializedState, registry)) {
+            return ClusterState.readFrom(in, localNode);
+        }
+    }
+}
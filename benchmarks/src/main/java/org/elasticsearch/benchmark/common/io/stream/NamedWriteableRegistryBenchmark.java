@@ -0,0 +1,118 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.benchmark.common.io.stream;
+
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link NamedWriteableRegistry} lookups and the deserialization of a query tree whose nodes are all named writeables.
+ */
+@Fork(3)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") //invoked by benchmarking framework
+public class NamedWriteableRegistryBenchmark {
+
+    // number of leaf clauses of the serialized bool query
+    @Param({"10", "100"})
+    public int numClauses;
+
+    private NamedWriteableRegistry registry;
+    private NamedWriteableRegistry.Entry[] entries;
+    private BytesReference serializedQuery;
+
+    @Setup
+    public void setUp() throws IOException {
+        final List<NamedWriteableRegistry.Entry> namedWriteables = Serialization.namedWriteables();
+        registry = new NamedWriteableRegistry(namedWriteables);
+        // look entries up in random order so that the benchmark does not only hit the most recently used categories
+        Collections.shuffle(namedWriteables, new Random(42));
+        entries = namedWriteables.toArray(new NamedWriteableRegistry.Entry[0]);
+
+        final Random random = new Random(42);
+        final BoolQueryBuilder query = QueryBuilders.boolQuery();
+        for (int i = 0; i < numClauses; i++) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    query.filter(QueryBuilders.termQuery("field_" + random.nextInt(20), "value_" + random.nextInt(1000)));
+                    break;
+                case 1:
+                    query.filter(QueryBuilders.rangeQuery("@timestamp").gte("now-1d").lt("now"));
+                    break;
+                case 2:
+                    query.must(QueryBuilders.matchQuery("message", "error connection refused"));
+                    break;
+                default:
+                    query.should(QueryBuilders.boolQuery()
+                        .must(QueryBuilders.existsQuery("field_" + random.nextInt(20)))
+                        .mustNot(QueryBuilders.prefixQuery("host", "test-")));
+                    break;
+            }
+        }
+        BytesStreamOutput out = new BytesStreamOutput();
+        out.writeNamedWriteable(query);
+        serializedQuery = out.bytes();
+    }
+
+    @Benchmark
+    public int lookupReaders() {
+        int found = 0;
+        for (NamedWriteableRegistry.Entry entry : entries) {
+            Writeable.Reader<?> reader = registry.getReader(entry.categoryClass, entry.name);
+            if (reader != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public QueryBuilder readQuery() throws IOException {
+        try (StreamInput in = Serialization.streamInput(serializedQuery, registry)) {
+            return in.readNamedWriteable(QueryBuilder.class);
+        }
+    }
+}
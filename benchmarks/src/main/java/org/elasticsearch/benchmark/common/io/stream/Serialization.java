@@ -0,0 +1,88 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.benchmark.common.io.stream;
+
+import org.elasticsearch.cluster.ClusterModule;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.NamedWriteableAwareStreamInput;
+import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.common.network.NetworkModule;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.indices.IndicesModule;
+import org.elasticsearch.search.SearchModule;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Shared helpers for the serialization microbenchmarks.
+ */
+public final class Serialization {
+
+    private Serialization() {
+        throw new AssertionError("Do not instantiate");
+    }
+
+    /**
+     * Returns the core named writeables that a node without plugins registers.
+     */
+    public static List<NamedWriteableRegistry.Entry> namedWriteables() {
+        return Stream.of(
+            NetworkModule.getNamedWriteables().stream(),
+            IndicesModule.getNamedWriteables().stream(),
+            new SearchModule(Settings.EMPTY, Collections.emptyList()).getNamedWriteables().stream(),
+            ClusterModule.getNamedWriteables().stream())
+            .flatMap(Function.identity()).collect(Collectors.toList());
+    }
+
+    /**
+     * Creates a {@link NamedWriteableRegistry} holding the entries of {@link #namedWriteables()}.
+     */
+    public static NamedWriteableRegistry namedWriteableRegistry() {
+        return new NamedWriteableRegistry(namedWriteables());
+    }
+
+    /**
+     * Serializes the given writeable into a new {@link BytesReference}.
+     */
+    public static BytesReference serialize(Writeable writeable) {
+        BytesStreamOutput out = new BytesStreamOutput();
+        try {
+            writeable.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.bytes();
+    }
+
+    /**
+     * Opens a stream over the given bytes that is able to read named writeables registered in the given registry.
+     */
+    public static StreamInput streamInput(BytesReference bytes, NamedWriteableRegistry registry) throws IOException {
+        return new NamedWriteableAwareStreamInput(bytes.streamInput(), registry);
+    }
+}
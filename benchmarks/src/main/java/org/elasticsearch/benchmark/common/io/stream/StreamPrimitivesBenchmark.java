@@ -0,0 +1,238 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.benchmark.common.io.stream;
+
+import org.elasticsearch.common.CheckedConsumer;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the variable-length number and string primitives of {@link StreamOutput} and
+ * {@link StreamInput} that every transport message is made of.
+ */
+@Fork(3)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") //invoked by benchmarking framework
+public class StreamPrimitivesBenchmark {
+
+    @Param({"1000"})
+    public int numValues;
+
+    // maximum length of the generated strings, most strings are short field or index names but a few are longer values
+    @Param({"16", "256"})
+    public int maxStringLength;
+
+    private long[] longs;
+    private String[] asciiStrings;
+    private String[] unicodeStrings;
+
+    private BytesStreamOutput output;
+
+    private BytesReference vInts;
+    private BytesReference vLongs;
+    private BytesReference zLongs;
+    private BytesReference asciiStringBytes;
+    private BytesReference unicodeStringBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        final Random random = new Random(42);
+        longs = new long[numValues];
+        asciiStrings = new String[numValues];
+        unicodeStrings = new String[numValues];
+        for (int i = 0; i < numValues; i++) {
+            // mix small values such as counts and ordinals with large ones such as timestamps and sequence numbers
+            switch (random.nextInt(3)) {
+                case 0:
+                    longs[i] = random.nextInt(128);
+                    break;
+                case 1:
+                    longs[i] = random.nextInt(Integer.MAX_VALUE);
+                    break;
+                default:
+                    longs[i] = 1_500_000_000_000L + random.nextInt(Integer.MAX_VALUE);
+                    break;
+            }
+            asciiStrings[i] = randomString(random, 1 + random.nextInt(maxStringLength), 'a', 'z');
+            unicodeStrings[i] = randomString(random, 1 + random.nextInt(maxStringLength), '\u00C0', '\u30FF');
+        }
+        output = new BytesStreamOutput();
+
+        vInts = serialize(out -> {
+            for (long value : longs) {
+                out.writeVInt((int) value);
+            }
+        });
+        vLongs = serialize(out -> {
+            for (long value : longs) {
+                out.writeVLong(value);
+            }
+        });
+        zLongs = serialize(out -> {
+            for (long value : longs) {
+                out.writeZLong(-value);
+            }
+        });
+        asciiStringBytes = serialize(out -> {
+            for (String value : asciiStrings) {
+                out.writeString(value);
+            }
+        });
+        unicodeStringBytes = serialize(out -> {
+            for (String value : unicodeStrings) {
+                out.writeString(value);
+            }
+        });
+    }
+
+    private static BytesReference serialize(CheckedConsumer<StreamOutput, IOException> writer) throws IOException {
+        BytesStreamOutput out = new BytesStreamOutput();
+        writer.accept(out);
+        return out.bytes();
+    }
+
+    private static String randomString(Random random, int length, char min, char max) {
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) (min + random.nextInt(max - min + 1));
+        }
+        return new String(chars);
+    }
+
+    @Benchmark
+    public int writeVInt() throws IOException {
+        output.reset();
+        for (long value : longs) {
+            output.writeVInt((int) value);
+        }
+        return output.size();
+    }
+
+    @Benchmark
+    public int writeVLong() throws IOException {
+        output.reset();
+        for (long value : longs) {
+            output.writeVLong(value);
+        }
+        return output.size();
+    }
+
+    @Benchmark
+    public int writeZLong() throws IOException {
+        output.reset();
+        for (long value : longs) {
+            output.writeZLong(-value);
+        }
+        return output.size();
+    }
+
+    @Benchmark
+    public int writeAsciiString() throws IOException {
+        output.reset();
+        for (String value : asciiStrings) {
+            output.writeString(value);
+        }
+        return output.size();
+    }
+
+    @Benchmark
+    public int writeUnicodeString() throws IOException {
+        output.reset();
+        for (String value : unicodeStrings) {
+            output.writeString(value);
+        }
+        return output.size();
+    }
+
+    @Benchmark
+    public long readVInt() throws IOException {
+        long sum = 0;
+        try (StreamInput in = vInts.streamInput()) {
+            for (int i = 0; i < numValues; i++) {
+                sum += in.readVInt();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long readVLong() throws IOException {
+        long sum = 0;
+        try (StreamInput in = vLongs.streamInput()) {
+            for (int i = 0; i < numValues; i++) {
+                sum += in.readVLong();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long readZLong() throws IOException {
+        long sum = 0;
+        try (StreamInput in = zLongs.streamInput()) {
+            for (int i = 0; i < numValues; i++) {
+                sum += in.readZLong();
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long readAsciiString() throws IOException {
+        long length = 0;
+        try (StreamInput in = asciiStringBytes.streamInput()) {
+            for (int i = 0; i < numValues; i++) {
+                length += in.readString().length();
+            }
+        }
+        return length;
+    }
+
+    @Benchmark
+    public long readUnicodeString() throws IOException {
+        long length = 0;
+        try (StreamInput in = unicodeStringBytes.streamInput()) {
+            for (int i = 0; i < numValues; i++) {
+                length += in.readString().length();
+            }
+        }
+        return length;
+    }
+}
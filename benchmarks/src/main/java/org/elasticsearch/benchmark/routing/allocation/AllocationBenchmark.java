@@ -106,7 +106,11 @@ public class AllocationBenchmark {
         "       10|     10|        2|    50",
         "      100|      1|        2|    50",
         "      100|      3|        2|    50",
-        "      100|     10|        2|    50"
+        "      100|     10|        2|    50",
+
+        // large clusters, where the time spent in the balancer dominates
+        "     1000|      5|        1|   100",
+        "     1000|     10|        1|   300"
     })
     public String indicesShardsReplicasNodes = "10|1|0|1";
 
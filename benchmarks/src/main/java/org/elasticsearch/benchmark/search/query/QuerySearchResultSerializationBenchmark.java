@@ -0,0 +1,151 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.benchmark.search.query;
+
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.action.OriginalIndices;
+import org.elasticsearch.benchmark.common.io.stream.Serialization;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.lucene.search.TopDocsAndMaxScore;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.search.DocValueFormat;
+import org.elasticsearch.search.SearchShardTarget;
+import org.elasticsearch.search.aggregations.BucketOrder;
+import org.elasticsearch.search.aggregations.InternalAggregation;
+import org.elasticsearch.search.aggregations.InternalAggregations;
+import org.elasticsearch.search.aggregations.bucket.terms.StringTerms;
+import org.elasticsearch.search.query.QuerySearchResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serialization of the {@link QuerySearchResult} that every shard returns to the coordinating node in the query phase.
+ * The result holds the top hits, optionally sorted by a timestamp, and a terms aggregation.
+ */
+@Fork(3)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") //invoked by benchmarking framework
+public class QuerySearchResultSerializationBenchmark {
+
+    @Param({"10", "1000"})
+    public int numHits;
+
+    @Param({"true", "false"})
+    public boolean sortByTimestamp;
+
+    // number of buckets of the terms aggregation, 0 disables the aggregation
+    @Param({"0", "100", "10000"})
+    public int numBuckets;
+
+    private NamedWriteableRegistry registry;
+    private QuerySearchResult result;
+    private BytesReference serializedResult;
+    private BytesStreamOutput output;
+
+    @Setup
+    public void setUp() throws IOException {
+        final Random random = new Random(42);
+        registry = Serialization.namedWriteableRegistry();
+        final ShardId shardId = new ShardId("logs-2019.10.01", "_na_", 0);
+        result = new QuerySearchResult(random.nextLong(), new SearchShardTarget("node_1", shardId, null, OriginalIndices.NONE));
+        result.from(0).size(numHits);
+
+        final TotalHits totalHits = new TotalHits(numHits + random.nextInt(1_000_000), TotalHits.Relation.EQUAL_TO);
+        final ScoreDoc[] scoreDocs = new ScoreDoc[numHits];
+        final TopDocs topDocs;
+        final DocValueFormat[] sortValueFormats;
+        if (sortByTimestamp) {
+            long timestamp = 1_569_888_000_000L;
+            for (int i = 0; i < numHits; i++) {
+                timestamp -= random.nextInt(1000);
+                scoreDocs[i] = new FieldDoc(random.nextInt(Integer.MAX_VALUE), Float.NaN, new Object[] { timestamp });
+            }
+            topDocs = new TopFieldDocs(totalHits, scoreDocs, new SortField[] { new SortField("@timestamp", SortField.Type.LONG, true) });
+            sortValueFormats = new DocValueFormat[] { DocValueFormat.RAW };
+        } else {
+            float score = 10f;
+            for (int i = 0; i < numHits; i++) {
+                score -= random.nextFloat() / numHits;
+                scoreDocs[i] = new ScoreDoc(random.nextInt(Integer.MAX_VALUE), score);
+            }
+            topDocs = new TopDocs(totalHits, scoreDocs);
+            sortValueFormats = null;
+        }
+        result.topDocs(new TopDocsAndMaxScore(topDocs, sortByTimestamp ? Float.NaN : 10f), sortValueFormats);
+
+        if (numBuckets > 0) {
+            final List<StringTerms.Bucket> buckets = new ArrayList<>(numBuckets);
+            long docCount = 1_000_000;
+            for (int i = 0; i < numBuckets; i++) {
+                docCount -= random.nextInt(100);
+                buckets.add(new StringTerms.Bucket(new BytesRef("host-" + i), docCount, InternalAggregations.EMPTY, false, 0,
+                    DocValueFormat.RAW));
+            }
+            final InternalAggregation terms = new StringTerms("hosts", BucketOrder.count(false), numBuckets, 1, Collections.emptyList(),
+                Collections.emptyMap(), DocValueFormat.RAW, numBuckets, false, 0, buckets, 0);
+            result.aggregations(new InternalAggregations(Collections.singletonList(terms)));
+        }
+
+        serializedResult = Serialization.serialize(result);
+        output = new BytesStreamOutput(serializedResult.length());
+    }
+
+    @Benchmark
+    public int serialize() throws IOException {
+        output.reset();
+        result.writeTo(output);
+        return output.size();
+    }
+
+    @Benchmark
+    public QuerySearchResult deserialize() throws IOException {
+        try (StreamInput in = Serialization.streamInput(serializedResult, registry)) {
+            return new QuerySearchResult(in);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.benchmark.time;
+
+import org.elasticsearch.common.Rounding;
+import org.elasticsearch.common.time.DateUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.ZoneId;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@Fork(2)
+@Warmup(iterations = 10)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") //invoked by benchmarking framework
+public class RoundingBenchmark {
+
+    @Param({"UTC", "Europe/Paris", "America/New_York"})
+    private String zone;
+
+    @Param({"hour", "day", "month"})
+    private String interval;
+
+    /** The number of days the rounded dates span */
+    @Param({"1", "365"})
+    private int days;
+
+    private long[] dates;
+    private Rounding rounding;
+    private Rounding.Prepared prepared;
+
+    @Setup
+    public void setup() {
+        final ZoneId timeZone = DateUtils.of(zone);
+        final Rounding.DateTimeUnit unit;
+        switch (interval) {
+            case "hour":
+                unit = Rounding.DateTimeUnit.HOUR_OF_DAY;
+                break;
+            case "day":
+                unit = Rounding.DateTimeUnit.DAY_OF_MONTH;
+                break;
+            case "month":
+                unit = Rounding.DateTimeUnit.MONTH_OF_YEAR;
+                break;
+            default:
+                throw new IllegalArgumentException("unsupported interval [" + interval + "]");
+        }
+        rounding = Rounding.builder(unit).timeZone(timeZone).build();
+
+        final long min = 1546300800000L; // 2019-01-01T00:00:00Z
+        final long max = min + TimeUnit.DAYS.toMillis(days);
+        final Random random = new Random(0);
+        dates = new long[1000];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = min + (long) (random.nextDouble() * (max - min));
+        }
+        prepared = rounding.prepare(min, max);
+    }
+
+    @Benchmark
+    public void round(Blackhole bh) {
+        for (long date : dates) {
+            bh.consume(rounding.round(date));
+        }
+    }
+
+    @Benchmark
+    public void roundPrepared(Blackhole bh) {
+        for (long date : dates) {
+            bh.consume(prepared.round(date));
+        }
+    }
+}
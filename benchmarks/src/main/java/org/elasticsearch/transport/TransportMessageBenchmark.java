@@ -0,0 +1,120 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.transport;
+
+import org.elasticsearch.Version;
+import org.elasticsearch.benchmark.common.io.stream.Serialization;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.concurrent.ThreadContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the transport framing of a request: writing the message with its {@link TcpHeader} and thread context headers on the
+ * sending side, and decoding the frame, header and thread context into an {@link InboundMessage} on the receiving side. The payload
+ * is opaque so that the numbers reflect the framing cost only.
+ * <p>
+ * This benchmark lives in the {@code org.elasticsearch.transport} package as the message classes are package-private.
+ */
+@Fork(3)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") //invoked by benchmarking framework
+public class TransportMessageBenchmark {
+
+    @Param({"128", "16384"})
+    public int payloadSize;
+
+    @Param({"false", "true"})
+    public boolean compress;
+
+    // number of request headers in the thread context, e.g. the X-Opaque-Id and security headers
+    @Param({"0", "4"})
+    public int numHeaders;
+
+    private ThreadContext threadContext;
+    private InboundMessage.Reader reader;
+    private Writeable payload;
+    private BytesReference serializedMessage;
+
+    @Setup
+    public void setUp() throws IOException {
+        final Random random = new Random(42);
+        threadContext = new ThreadContext(Settings.EMPTY);
+        for (int i = 0; i < numHeaders; i++) {
+            threadContext.putHeader("header_" + i, "value_" + random.nextLong());
+        }
+        reader = new InboundMessage.Reader(Version.CURRENT, Serialization.namedWriteableRegistry(), threadContext);
+
+        final byte[] bytes = new byte[payloadSize];
+        // half random, half repeated bytes so that compression has some work to do without being trivial
+        for (int i = 0; i < payloadSize; i++) {
+            bytes[i] = i % 2 == 0 ? (byte) random.nextInt() : (byte) 'a';
+        }
+        final BytesReference payloadBytes = new BytesArray(bytes);
+        payload = new Writeable() {
+            @Override
+            public void writeTo(StreamOutput out) throws IOException {
+                out.writeBytesReference(payloadBytes);
+            }
+        };
+        serializedMessage = serializeRequest();
+    }
+
+    @Benchmark
+    public BytesReference serializeRequest() throws IOException {
+        final OutboundMessage.Request request = new OutboundMessage.Request(threadContext, payload, Version.CURRENT,
+            "internal:benchmark/action", 42L, false, compress);
+        return request.serialize(new BytesStreamOutput());
+    }
+
+    @Benchmark
+    public int readMessageLength() throws IOException {
+        return TcpTransport.readMessageLength(serializedMessage);
+    }
+
+    @Benchmark
+    public int decodeRequest() throws IOException {
+        final BytesReference frame = TcpTransport.decodeFrame(serializedMessage);
+        try (InboundMessage message = reader.deserialize(frame)) {
+            return message.getStreamInput().readBytesReference().length();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.nio;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Supplies the selector with the lowest recent {@link NioSelector#getLoad() load}. Selectors whose load is within
+ * {@link #LOAD_TOLERANCE} of the lowest load are considered equally loaded and are handed out round-robin, so that
+ * a burst of new channels on idle selectors is still spread across all of them instead of piling onto one. The load is
+ * only sampled when a channel is registered, so channels stay on their selector however its load evolves afterwards.
+ */
+final class LeastLoadedSupplier implements Supplier<NioSelector> {
+
+    static final double LOAD_TOLERANCE = 0.05;
+
+    private final AtomicBoolean selectorsSet = new AtomicBoolean(false);
+    private volatile NioSelector[] selectors;
+    private final AtomicInteger counter = new AtomicInteger(0);
+
+    LeastLoadedSupplier() {
+        this.selectors = null;
+    }
+
+    LeastLoadedSupplier(NioSelector[] selectors) {
+        this.selectors = selectors;
+        this.selectorsSet.set(true);
+    }
+
+    @Override
+    public NioSelector get() {
+        NioSelector[] selectors = this.selectors;
+        double minLoad = Double.MAX_VALUE;
+        for (NioSelector selector : selectors) {
+            minLoad = Math.min(minLoad, selector.getLoad());
+        }
+        final int start = Math.floorMod(counter.getAndIncrement(), selectors.length);
+        for (int i = 0; i < selectors.length; ++i) {
+            NioSelector selector = selectors[(start + i) % selectors.length];
+            if (selector.getLoad() <= minLoad + LOAD_TOLERANCE) {
+                return selector;
+            }
+        }
+        // the loads changed concurrently, just fall back to round-robin
+        return selectors[start];
+    }
+
+    void setSelectors(NioSelector[] selectors) {
+        if (selectorsSet.compareAndSet(false, true)) {
+            this.selectors = selectors;
+        } else {
+            throw new AssertionError("Selectors already set. Should only be set once.");
+        }
+    }
+
+    int count() {
+        return selectors.length;
+    }
+}
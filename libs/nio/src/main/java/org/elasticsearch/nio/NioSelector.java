@@ -49,6 +49,8 @@ import java.util.stream.Collectors;
  */
 public class NioSelector implements Closeable {
 
+    static final long LOAD_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     private final ConcurrentLinkedQueue<WriteOperation> queuedWrites = new ConcurrentLinkedQueue<>();
     private final ConcurrentLinkedQueue<ChannelContext<?>> channelsToClose = new ConcurrentLinkedQueue<>();
     private final ConcurrentLinkedQueue<ChannelContext<?>> channelsToRegister = new ConcurrentLinkedQueue<>();
@@ -64,6 +66,9 @@ public class NioSelector implements Closeable {
     private final AtomicReference<Thread> thread = new AtomicReference<>(null);
     private final AtomicBoolean wokenUp = new AtomicBoolean(false);
 
+    // only written by the selector thread, but read by other threads to pick the least loaded selector
+    private volatile double load = 0.0;
+
     public NioSelector(EventHandler eventHandler) throws IOException {
         this(eventHandler, Selector.open());
     }
@@ -97,6 +102,17 @@ public class NioSelector implements Closeable {
         return isClosed.get() == false;
     }
 
+    /**
+     * Returns the recent load of this selector as the fraction of time, between 0 and 1, that it was busy handling events,
+     * registrations, writes and tasks rather than waiting in the raw select call. This is an exponentially weighted moving
+     * average that mostly reflects the last {@link #LOAD_WINDOW_NANOS}.
+     *
+     * @return the recent load
+     */
+    double getLoad() {
+        return load;
+    }
+
     public boolean isRunning() {
         return runLock.isLocked();
     }
@@ -150,10 +166,13 @@ public class NioSelector implements Closeable {
     }
 
     void singleLoop() {
+        final long startNanos = System.nanoTime();
+        long selectNanos = 0;
         try {
             closePendingChannels();
             preSelect();
-            long nanosUntilNextTask = taskScheduler.nanosUntilNextTask(System.nanoTime());
+            final long selectStartNanos = System.nanoTime();
+            long nanosUntilNextTask = taskScheduler.nanosUntilNextTask(selectStartNanos);
             int ready;
             if (wokenUp.getAndSet(false) || nanosUntilNextTask == 0) {
                 ready = selector.selectNow();
@@ -163,6 +182,7 @@ public class NioSelector implements Closeable {
                 // that blocks without a timeout.
                 ready = selector.select(Math.min(300, Math.max(millisUntilNextTask, 1)));
             }
+            selectNanos = System.nanoTime() - selectStartNanos;
             if (ready > 0) {
                 Set<SelectionKey> selectionKeys = selector.selectedKeys();
                 Iterator<SelectionKey> keyIterator = selectionKeys.iterator();
@@ -191,6 +211,17 @@ public class NioSelector implements Closeable {
         } catch (Exception e) {
             eventHandler.uncaughtException(e);
         }
+        recordLoop(System.nanoTime() - startNanos, selectNanos);
+    }
+
+    private void recordLoop(long loopNanos, long selectNanos) {
+        if (loopNanos <= 0) {
+            return;
+        }
+        final long loopBusyNanos = Math.max(0, loopNanos - selectNanos);
+        // weight each loop by its duration so that the load decays over LOAD_WINDOW_NANOS, no matter how often we loop
+        final double weight = 1.0 - Math.exp(-(double) loopNanos / LOAD_WINDOW_NANOS);
+        load += weight * ((double) loopBusyNanos / loopNanos - load);
     }
 
     void cleanupAndCloseChannels() {
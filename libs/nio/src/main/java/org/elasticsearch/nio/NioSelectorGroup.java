@@ -41,6 +41,9 @@ import java.util.stream.Stream;
  * <p>
  * The logic specific to a particular channel is provided by the {@link ChannelFactory} passed to the method
  * when the channel is created. This is what allows an NioSelectorGroup to support different channel types.
+ * <p>
+ * New and accepted channels are pinned to the least loaded selector, falling back to round-robin between equally
+ * loaded selectors.
  */
 public class NioSelectorGroup implements NioGroup {
 
@@ -49,7 +52,7 @@ public class NioSelectorGroup implements NioGroup {
     private final RoundRobinSupplier<NioSelector> acceptorSupplier;
 
     private final List<NioSelector> selectors;
-    private final RoundRobinSupplier<NioSelector> selectorSupplier;
+    private final LeastLoadedSupplier selectorSupplier;
 
     private final AtomicBoolean isOpen = new AtomicBoolean(true);
 
@@ -85,20 +88,20 @@ public class NioSelectorGroup implements NioGroup {
         selectors = new ArrayList<>(selectorCount);
 
         try {
-            List<RoundRobinSupplier<NioSelector>> suppliersToSet = new ArrayList<>(selectorCount);
+            List<LeastLoadedSupplier> suppliersToSet = new ArrayList<>(selectorCount);
             for (int i = 0; i < selectorCount; ++i) {
-                RoundRobinSupplier<NioSelector> supplier = new RoundRobinSupplier<>();
+                LeastLoadedSupplier supplier = new LeastLoadedSupplier();
                 suppliersToSet.add(supplier);
                 NioSelector selector = new NioSelector(eventHandlerFunction.apply(supplier));
                 selectors.add(selector);
             }
-            for (RoundRobinSupplier<NioSelector> supplierToSet : suppliersToSet) {
+            for (LeastLoadedSupplier supplierToSet : suppliersToSet) {
                 supplierToSet.setSelectors(selectors.toArray(new NioSelector[0]));
                 assert supplierToSet.count() == selectors.size() : "Supplier should have same count as selector list.";
             }
 
             for (int i = 0; i < dedicatedAcceptorCount; ++i) {
-                RoundRobinSupplier<NioSelector> supplier = new RoundRobinSupplier<>(selectors.toArray(new NioSelector[0]));
+                LeastLoadedSupplier supplier = new LeastLoadedSupplier(selectors.toArray(new NioSelector[0]));
                 NioSelector acceptor = new NioSelector(eventHandlerFunction.apply(supplier));
                 dedicatedAcceptors.add(acceptor);
             }
@@ -108,7 +111,7 @@ public class NioSelectorGroup implements NioGroup {
             } else {
                 acceptorSupplier = new RoundRobinSupplier<>(selectors.toArray(new NioSelector[0]));
             }
-            selectorSupplier = new RoundRobinSupplier<>(selectors.toArray(new NioSelector[0]));
+            selectorSupplier = new LeastLoadedSupplier(selectors.toArray(new NioSelector[0]));
             assert selectorCount == selectors.size() : "We need to have created all the selectors at this point.";
             assert dedicatedAcceptorCount == dedicatedAcceptors.size() : "We need to have created all the acceptors at this point.";
 
@@ -0,0 +1,63 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.nio;
+
+import org.elasticsearch.test.ESTestCase;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LeastLoadedSupplierTests extends ESTestCase {
+
+    public void testEquallyLoadedSelectorsAreSuppliedRoundRobin() {
+        NioSelector[] selectors = mockSelectors(0.0, 0.01, LeastLoadedSupplier.LOAD_TOLERANCE);
+        LeastLoadedSupplier supplier = new LeastLoadedSupplier(selectors);
+        for (int i = 0; i < 3 * selectors.length; ++i) {
+            assertSame(selectors[i % selectors.length], supplier.get());
+        }
+    }
+
+    public void testLoadedSelectorsAreSkipped() {
+        NioSelector[] selectors = mockSelectors(0.9, 0.2, 0.21, 0.5);
+        LeastLoadedSupplier supplier = new LeastLoadedSupplier(selectors);
+        for (int i = 0; i < 10; ++i) {
+            NioSelector selector = supplier.get();
+            assertTrue(selector == selectors[1] || selector == selectors[2]);
+        }
+    }
+
+    public void testSelectorsCanBeSetLater() {
+        LeastLoadedSupplier supplier = new LeastLoadedSupplier();
+        NioSelector[] selectors = mockSelectors(0.5, 0.0);
+        supplier.setSelectors(selectors);
+        assertEquals(2, supplier.count());
+        assertSame(selectors[1], supplier.get());
+        expectThrows(AssertionError.class, () -> supplier.setSelectors(selectors));
+    }
+
+    private static NioSelector[] mockSelectors(double... loads) {
+        NioSelector[] selectors = new NioSelector[loads.length];
+        for (int i = 0; i < loads.length; ++i) {
+            selectors[i] = mock(NioSelector.class);
+            when(selectors[i].getLoad()).thenReturn(loads[i]);
+        }
+        return selectors;
+    }
+}
@@ -38,6 +38,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.isNull;
@@ -136,6 +138,22 @@ public class NioSelectorTests extends ESTestCase {
         assertTrue(isRun.get());
     }
 
+    public void testLoadIsRecorded() throws IOException {
+        assertEquals(0.0, selector.getLoad(), 0.0);
+        long nanoTime = System.nanoTime() - 1;
+        selector.getTaskScheduler().scheduleAtRelativeTime(() -> {
+            long start = System.nanoTime();
+            while (System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(5)) {
+                // spin to keep the selector busy
+            }
+        }, nanoTime);
+
+        selector.singleLoop();
+
+        assertThat(selector.getLoad(), greaterThan(0.0));
+        assertThat(selector.getLoad(), lessThanOrEqualTo(1.0));
+    }
+
     public void testTaskExceptionsAreHandled() {
         RuntimeException taskException = new RuntimeException();
         long nanoTime = System.nanoTime() - 1;
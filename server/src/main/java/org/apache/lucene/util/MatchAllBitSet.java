@@ -0,0 +1,86 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.lucene.util;
+
+/**
+ * An immutable {@link BitSet} that has all of its bits set. It takes constant memory whatever its length, which makes it
+ * a cheap replacement for a full {@link FixedBitSet}.
+ */
+public final class MatchAllBitSet extends BitSet {
+    private static final long BASE_RAM_BYTES_USED = RamUsageEstimator.shallowSizeOfInstance(MatchAllBitSet.class);
+
+    private final int numBits;
+
+    public MatchAllBitSet(int numBits) {
+        this.numBits = numBits;
+    }
+
+    @Override
+    public int cardinality() {
+        return numBits;
+    }
+
+    @Override
+    public int approximateCardinality() {
+        return numBits;
+    }
+
+    @Override
+    public int prevSetBit(int index) {
+        assert index >= 0 && index < numBits : "index=" + index + ", numBits=" + numBits;
+        return index;
+    }
+
+    @Override
+    public int nextSetBit(int index) {
+        assert index >= 0 && index < numBits : "index=" + index + " numBits=" + numBits;
+        return index;
+    }
+
+    @Override
+    public long ramBytesUsed() {
+        return BASE_RAM_BYTES_USED;
+    }
+
+    @Override
+    public boolean get(int index) {
+        assert index >= 0 && index < numBits : "index=" + index + ", numBits=" + numBits;
+        return true;
+    }
+
+    @Override
+    public int length() {
+        return numBits;
+    }
+
+    @Override
+    public void set(int i) {
+        throw new UnsupportedOperationException("not implemented");
+    }
+
+    @Override
+    public void clear(int i) {
+        throw new UnsupportedOperationException("not implemented");
+    }
+
+    @Override
+    public void clear(int startIndex, int endIndex) {
+        throw new UnsupportedOperationException("not implemented");
+    }
+}
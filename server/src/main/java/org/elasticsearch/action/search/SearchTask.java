@@ -19,10 +19,21 @@
 
 package org.elasticsearch.action.search;
 
+import org.elasticsearch.Version;
+import org.elasticsearch.common.Strings;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.VersionedNamedWriteable;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.tasks.CancellableTask;
+import org.elasticsearch.tasks.Task;
 import org.elasticsearch.tasks.TaskId;
 
+import java.io.IOException;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
 
 /**
  * Task storing information about a currently running search request.
@@ -33,9 +44,96 @@ public class SearchTask extends CancellableTask {
         super(id, type, action, description, parentTaskId, headers);
     }
 
+    private volatile LongSupplier reservedMemory;
+
     @Override
     public boolean shouldCancelChildrenOnCancellation() {
         return true;
     }
 
+    /**
+     * Set the source of the number of bytes that the search context executing this task currently has reserved on the request
+     * circuit breaker.
+     */
+    public void setReservedMemory(LongSupplier reservedMemory) {
+        this.reservedMemory = Objects.requireNonNull(reservedMemory);
+    }
+
+    /**
+     * Get the number of bytes that the search context executing this task currently has reserved on the request circuit breaker.
+     */
+    public long getReservedMemoryInBytes() {
+        final LongSupplier reservedMemory = this.reservedMemory;
+        return reservedMemory == null ? 0L : reservedMemory.getAsLong();
+    }
+
+    /**
+     * Only the tasks that execute a search context on a shard have a status, the task of the coordinating node doesn't reserve
+     * any memory on behalf of a search context.
+     */
+    @Override
+    public Status getStatus() {
+        return reservedMemory == null ? null : new Status(getReservedMemoryInBytes());
+    }
+
+    public static class Status implements Task.Status, VersionedNamedWriteable {
+        public static final String NAME = "search";
+
+        private final long reservedMemoryInBytes;
+
+        public Status(long reservedMemoryInBytes) {
+            this.reservedMemoryInBytes = reservedMemoryInBytes;
+        }
+
+        public Status(StreamInput in) throws IOException {
+            reservedMemoryInBytes = in.readVLong();
+        }
+
+        public long getReservedMemoryInBytes() {
+            return reservedMemoryInBytes;
+        }
+
+        @Override
+        public String getWriteableName() {
+            return NAME;
+        }
+
+        @Override
+        public Version getMinimalSupportedVersion() {
+            return Version.V_8_0_0;
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject();
+            builder.humanReadableField("reserved_memory_in_bytes", "reserved_memory", new ByteSizeValue(reservedMemoryInBytes));
+            builder.endObject();
+            return builder;
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVLong(reservedMemoryInBytes);
+        }
+
+        @Override
+        public String toString() {
+            return Strings.toString(this);
+        }
+
+        // Implements equals and hashcode for testing
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == null || obj.getClass() != SearchTask.Status.class) {
+                return false;
+            }
+            SearchTask.Status other = (Status) obj;
+            return reservedMemoryInBytes == other.reservedMemoryInBytes;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(reservedMemoryInBytes);
+        }
+    }
 }
@@ -31,11 +31,18 @@ import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.common.util.concurrent.FutureUtils;
+import org.elasticsearch.common.util.concurrent.ListenableFuture;
+import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.index.Index;
 import org.elasticsearch.index.mapper.Mapping;
 
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * Called by shards in the cluster when their mapping was dynamically updated and it needs to be updated
  * in the cluster state meta data (and broadcast to all members).
@@ -47,8 +54,12 @@ public class MappingUpdatedAction {
             Property.Dynamic, Property.NodeScope);
 
     private IndicesAdminClient client;
+    private ThreadContext threadContext;
     private volatile TimeValue dynamicMappingUpdateTimeout;
 
+    // identical mapping updates for the same index, e.g. from several shards that see the same new field, share a single request
+    private final ConcurrentMap<PendingUpdate, ListenableFuture<Void>> pendingUpdates = ConcurrentCollections.newConcurrentMap();
+
     @Inject
     public MappingUpdatedAction(Settings settings, ClusterSettings clusterSettings) {
         this.dynamicMappingUpdateTimeout = INDICES_MAPPING_DYNAMIC_TIMEOUT_SETTING.get(settings);
@@ -61,6 +72,7 @@ public class MappingUpdatedAction {
 
     public void setClient(Client client) {
         this.client = client.admin().indices();
+        this.threadContext = client.threadPool().getThreadContext();
     }
 
     /**
@@ -68,24 +80,71 @@ public class MappingUpdatedAction {
      * but not for the mapping update to be applied on all nodes. The timeout specified by
      * {@code timeout} is the master node timeout ({@link MasterNodeRequest#masterNodeTimeout()}),
      * potentially waiting for a master node to be available.
+     * If an identical update for the same index is already in flight then no new request is sent and the listener is notified
+     * once the pending request completes.
      */
     public void updateMappingOnMaster(Index index, String type, Mapping mappingUpdate, ActionListener<Void> listener) {
-        client.preparePutMapping().setConcreteIndex(index).setType(type).setSource(mappingUpdate.toString(), XContentType.JSON)
+        final PendingUpdate pendingUpdate = new PendingUpdate(index, type, mappingUpdate.toString());
+        final ListenableFuture<Void> future = new ListenableFuture<>();
+        final ListenableFuture<Void> existingFuture = pendingUpdates.putIfAbsent(pendingUpdate, future);
+        if (existingFuture != null) {
+            existingFuture.addListener(listener, EsExecutors.newDirectExecutorService(), threadContext);
+            return;
+        }
+        future.addListener(listener, EsExecutors.newDirectExecutorService(), threadContext);
+        sendUpdateMapping(index, type, pendingUpdate.source, new ActionListener<AcknowledgedResponse>() {
+            @Override
+            public void onResponse(AcknowledgedResponse acknowledgedResponse) {
+                // remove before notifying, so that only requests that are still in flight are shared
+                pendingUpdates.remove(pendingUpdate, future);
+                future.onResponse(null);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                pendingUpdates.remove(pendingUpdate, future);
+                future.onFailure(unwrapException(e));
+            }
+        });
+    }
+
+    // can be overridden by tests
+    protected void sendUpdateMapping(Index index, String type, String source, ActionListener<AcknowledgedResponse> listener) {
+        client.preparePutMapping().setConcreteIndex(index).setType(type).setSource(source, XContentType.JSON)
             .setMasterNodeTimeout(dynamicMappingUpdateTimeout).setTimeout(TimeValue.ZERO)
-            .execute(new ActionListener<AcknowledgedResponse>() {
-                @Override
-                public void onResponse(AcknowledgedResponse acknowledgedResponse) {
-                    listener.onResponse(null);
-                }
-
-                @Override
-                public void onFailure(Exception e) {
-                    listener.onFailure(unwrapException(e));
-                }
-            });
+            .execute(listener);
     }
 
     private static Exception unwrapException(Exception cause) {
         return cause instanceof ElasticsearchException ? FutureUtils.unwrapEsException((ElasticsearchException) cause) : cause;
     }
+
+    private static final class PendingUpdate {
+        private final Index index;
+        private final String type;
+        private final String source;
+
+        PendingUpdate(Index index, String type, String source) {
+            this.index = index;
+            this.type = type;
+            this.source = source;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            PendingUpdate that = (PendingUpdate) o;
+            return index.equals(that.index) && type.equals(that.type) && source.equals(that.source);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(index, type, source);
+        }
+    }
 }
@@ -685,7 +685,8 @@ public class Coordinator extends AbstractLifecycleComponent implements Discovery
 
     @Override
     public DiscoveryStats stats() {
-        return new DiscoveryStats(new PendingClusterStateStats(0, 0, 0), publicationHandler.stats());
+        return new DiscoveryStats(new PendingClusterStateStats(0, 0, 0), publicationHandler.stats(),
+            masterService.getTaskExecutionStats());
     }
 
     @Override
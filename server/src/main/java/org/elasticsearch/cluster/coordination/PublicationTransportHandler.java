@@ -30,6 +30,7 @@ import org.elasticsearch.cluster.Diff;
 import org.elasticsearch.cluster.IncompatibleClusterStateVersionException;
 import org.elasticsearch.cluster.node.DiscoveryNode;
 import org.elasticsearch.cluster.node.DiscoveryNodes;
+import org.elasticsearch.common.CheckedSupplier;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.compress.Compressor;
 import org.elasticsearch.common.compress.CompressorFactory;
@@ -38,6 +39,9 @@ import org.elasticsearch.common.io.stream.NamedWriteableAwareStreamInput;
 import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.core.internal.io.IOUtils;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.transport.BytesTransportRequest;
@@ -49,8 +53,11 @@ import org.elasticsearch.transport.TransportResponseHandler;
 import org.elasticsearch.transport.TransportService;
 
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
@@ -146,8 +153,9 @@ public class PublicationTransportHandler {
         final ClusterState newState = clusterChangedEvent.state();
         final ClusterState previousState = clusterChangedEvent.previousState();
         final boolean sendFullVersion = clusterChangedEvent.previousState().getBlocks().disableStatePersistence();
-        final Map<Version, BytesReference> serializedStates = new HashMap<>();
-        final Map<Version, BytesReference> serializedDiffs = new HashMap<>();
+        // full states may also be serialized later, concurrently, when nodes reject a diff
+        final Map<Version, BytesReference> serializedStates = ConcurrentCollections.newConcurrentMap();
+        final Map<Version, BytesReference> serializedDiffs = ConcurrentCollections.newConcurrentMap();
 
         // we build these early as a best effort not to commit in the case of error.
         // sadly this is not water tight as it may that a failed diff based publishing to a node
@@ -268,27 +276,70 @@ public class PublicationTransportHandler {
         }
     }
 
-    private static void buildDiffAndSerializeStates(ClusterState clusterState, ClusterState previousState, DiscoveryNodes discoveryNodes,
-                                                    boolean sendFullVersion, Map<Version, BytesReference> serializedStates,
-                                                    Map<Version, BytesReference> serializedDiffs) {
+    private void buildDiffAndSerializeStates(ClusterState clusterState, ClusterState previousState, DiscoveryNodes discoveryNodes,
+                                             boolean sendFullVersion, Map<Version, BytesReference> serializedStates,
+                                             Map<Version, BytesReference> serializedDiffs) {
+        final long startTimeNanos = System.nanoTime();
+        final List<Serialization> serializations = new ArrayList<>();
+        final Set<Version> fullStateVersions = new HashSet<>();
+        final Set<Version> diffVersions = new HashSet<>();
         Diff<ClusterState> diff = null;
         for (DiscoveryNode node : discoveryNodes) {
-            try {
-                if (sendFullVersion || !previousState.nodes().nodeExists(node)) {
-                    if (serializedStates.containsKey(node.getVersion()) == false) {
-                        serializedStates.put(node.getVersion(), serializeFullClusterState(clusterState, node.getVersion()));
-                    }
-                } else {
-                    // will send a diff
-                    if (diff == null) {
-                        diff = clusterState.diff(previousState);
-                    }
-                    if (serializedDiffs.containsKey(node.getVersion()) == false) {
-                        serializedDiffs.put(node.getVersion(), serializeDiffClusterState(diff, node.getVersion()));
-                    }
+            final Version version = node.getVersion();
+            if (sendFullVersion || !previousState.nodes().nodeExists(node)) {
+                if (fullStateVersions.add(version)) {
+                    serializations.add(new Serialization(node, serializedStates, () -> serializeFullClusterState(clusterState, version)));
                 }
+            } else {
+                // will send a diff
+                if (diff == null) {
+                    diff = clusterState.diff(previousState);
+                }
+                if (diffVersions.add(version)) {
+                    final Diff<ClusterState> clusterStateDiff = diff;
+                    serializations.add(new Serialization(node, serializedDiffs,
+                        () -> serializeDiffClusterState(clusterStateDiff, version)));
+                }
+            }
+        }
+
+        // the full state and the diff, as well as the forms for nodes of different versions, are independent of each other, so they
+        // are serialized and compressed in parallel. The calling thread takes part, so this never waits for the generic pool. There
+        // are at most two forms per version, so this mostly helps mixed-version clusters.
+        EsExecutors.runConcurrently(serializations, serializations.size(), transportService.getThreadPool().generic());
+        for (Serialization serialization : serializations) {
+            if (serialization.failure != null) {
+                throw new ElasticsearchException("failed to serialize cluster state for publishing to node {}", serialization.failure,
+                    serialization.node);
+            }
+        }
+        logger.debug("serialized [{}] forms of cluster state version [{}] in [{}]", serializations.size(), clusterState.version(),
+            TimeValue.timeValueNanos(System.nanoTime() - startTimeNanos));
+    }
+
+    /**
+     * Serializes a cluster state or diff for the version of the given node into the given map.
+     */
+    private static final class Serialization implements Runnable {
+        private final DiscoveryNode node;
+        private final Map<Version, BytesReference> serialized;
+        private final CheckedSupplier<BytesReference, IOException> serializer;
+
+        private IOException failure;
+
+        Serialization(DiscoveryNode node, Map<Version, BytesReference> serialized,
+                      CheckedSupplier<BytesReference, IOException> serializer) {
+            this.node = node;
+            this.serialized = serialized;
+            this.serializer = serializer;
+        }
+
+        @Override
+        public void run() {
+            try {
+                serialized.put(node.getVersion(), serializer.get());
             } catch (IOException e) {
-                throw new ElasticsearchException("failed to serialize cluster state for publishing to node {}", e, node);
+                failure = e;
             }
         }
     }
@@ -299,12 +350,16 @@ public class PublicationTransportHandler {
         if (bytes == null) {
             try {
                 bytes = serializeFullClusterState(clusterState, node.getVersion());
-                serializedStates.put(node.getVersion(), bytes);
             } catch (Exception e) {
                 logger.warn(() -> new ParameterizedMessage("failed to serialize cluster state before publishing it to node {}", node), e);
                 responseActionListener.onFailure(e);
                 return;
             }
+            // several nodes may reject the diff at the same time, they all send the first full state that was stored
+            final BytesReference existing = serializedStates.putIfAbsent(node.getVersion(), bytes);
+            if (existing != null) {
+                bytes = existing;
+            }
         }
         sendClusterStateToNode(clusterState, bytes, node, responseActionListener, false, serializedStates);
     }
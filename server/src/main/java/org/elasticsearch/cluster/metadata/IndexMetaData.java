@@ -371,6 +371,18 @@ public class IndexMetaData implements Diffable<IndexMetaData>, ToXContentFragmen
         assert numberOfShards * routingFactor == routingNumShards :  routingNumShards + " must be a multiple of " + numberOfShards;
     }
 
+    /**
+     * Returns a copy of this index metadata that uses the given mappings, which must be equal to the current ones. This allows
+     * indices with identical mappings to share a single {@link MappingMetaData} instance, see {@link MetaData.Builder#build()}.
+     */
+    IndexMetaData withMappings(ImmutableOpenMap<String, MappingMetaData> mappings) {
+        assert this.mappings.equals(mappings) : "mappings " + mappings + " must be equal to " + this.mappings;
+        return new IndexMetaData(index, version, mappingVersion, settingsVersion, aliasesVersion, primaryTerms, state, numberOfShards,
+            numberOfReplicas, settings, mappings, aliases, customData, inSyncAllocationIds, requireFilters, initialRecoveryFilters,
+            includeFilters, excludeFilters, indexCreatedVersion, indexUpgradedVersion, routingNumShards, routingPartitionSize,
+            waitForActiveShards, rolloverInfos);
+    }
+
     public Index getIndex() {
         return index;
     }
@@ -69,6 +69,7 @@ import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -1170,6 +1171,8 @@ public class MetaData implements Iterable<IndexMetaData>, Diffable<MetaData>, To
             //    while these datastructures aren't even used.
             // 2) The aliasAndIndexLookup can be updated instead of rebuilding it all the time.
 
+            dedupeMappings();
+
             final Set<String> allIndices = new HashSet<>(indices.size());
             final List<String> allOpenIndices = new ArrayList<>();
             final List<String> allClosedIndices = new ArrayList<>();
@@ -1219,6 +1222,51 @@ public class MetaData implements Iterable<IndexMetaData>, Diffable<MetaData>, To
                     allClosedIndicesArray, aliasAndIndexLookup);
         }
 
+        /**
+         * Indices created from the same template usually have identical mappings. Make them share a single {@link MappingMetaData}
+         * instance so that each distinct mapping source is only held once on heap, no matter how many indices use it. The instance
+         * that is already referenced by the most indices (and on a tie, by the oldest index) is kept, so that adding an index never
+         * replaces the mapping instance of existing indices and unchanged indices keep their {@link IndexMetaData} instance.
+         */
+        private void dedupeMappings() {
+            final Map<MappingMetaData, Integer> referenceCounts = new IdentityHashMap<>();
+            final Map<MappingMetaData, Long> oldestCreationDates = new IdentityHashMap<>();
+            for (ObjectCursor<IndexMetaData> cursor : indices.values()) {
+                final IndexMetaData indexMetaData = cursor.value;
+                for (ObjectCursor<MappingMetaData> mapping : indexMetaData.getMappings().values()) {
+                    referenceCounts.merge(mapping.value, 1, Integer::sum);
+                    oldestCreationDates.merge(mapping.value, indexMetaData.getCreationDate(), Math::min);
+                }
+            }
+            final Comparator<MappingMetaData> preferred = Comparator.<MappingMetaData>comparingInt(referenceCounts::get)
+                .thenComparing(Comparator.<MappingMetaData>comparingLong(oldestCreationDates::get).reversed());
+            final Map<MappingMetaData, MappingMetaData> uniqueMappings = new HashMap<>();
+            for (MappingMetaData mapping : referenceCounts.keySet()) {
+                uniqueMappings.merge(mapping, mapping, (current, candidate) ->
+                    preferred.compare(candidate, current) > 0 ? candidate : current);
+            }
+            final List<IndexMetaData> deduped = new ArrayList<>();
+            for (ObjectCursor<IndexMetaData> cursor : indices.values()) {
+                final IndexMetaData indexMetaData = cursor.value;
+                ImmutableOpenMap.Builder<String, MappingMetaData> sharedMappings = null;
+                for (ObjectObjectCursor<String, MappingMetaData> mapping : indexMetaData.getMappings()) {
+                    final MappingMetaData unique = uniqueMappings.get(mapping.value);
+                    if (unique != mapping.value) {
+                        if (sharedMappings == null) {
+                            sharedMappings = ImmutableOpenMap.builder(indexMetaData.getMappings());
+                        }
+                        sharedMappings.put(mapping.key, unique);
+                    }
+                }
+                if (sharedMappings != null) {
+                    deduped.add(indexMetaData.withMappings(sharedMappings.build()));
+                }
+            }
+            for (IndexMetaData indexMetaData : deduped) {
+                indices.put(indexMetaData.getIndex().getName(), indexMetaData);
+            }
+        }
+
         private SortedMap<String, AliasOrIndex> buildAliasAndIndexLookup() {
             SortedMap<String, AliasOrIndex> aliasAndIndexLookup = new TreeMap<>();
             for (ObjectCursor<IndexMetaData> cursor : indices.values()) {
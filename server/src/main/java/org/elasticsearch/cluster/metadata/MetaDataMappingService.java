@@ -50,8 +50,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.elasticsearch.index.mapper.MapperService.isMappingSourceTyped;
 import static org.elasticsearch.indices.cluster.IndicesClusterStateService.AllocatedIndices.IndexRemovalReason.NO_LONGER_ASSIGNED;
@@ -218,9 +220,17 @@ public class MetaDataMappingService {
         public ClusterTasksResult<PutMappingClusterStateUpdateRequest>
         execute(ClusterState currentState, List<PutMappingClusterStateUpdateRequest> tasks) throws Exception {
             Map<Index, MapperService> indexMapperServices = new HashMap<>();
+            // identical requests, e.g. the same dynamic mapping update sent by the shards of an index, only need to be applied once
+            Set<List<Object>> appliedRequests = new HashSet<>();
             ClusterTasksResult.Builder<PutMappingClusterStateUpdateRequest> builder = ClusterTasksResult.builder();
             try {
                 for (PutMappingClusterStateUpdateRequest request : tasks) {
+                    final List<Object> requestKey = Arrays.asList(request.type(), request.source(),
+                        request.indices() == null ? null : Arrays.asList(request.indices()));
+                    if (appliedRequests.contains(requestKey)) {
+                        builder.success(request);
+                        continue;
+                    }
                     try {
                         for (Index index : request.indices()) {
                             final IndexMetaData indexMetaData = currentState.metaData().getIndexSafe(index);
@@ -233,6 +243,7 @@ public class MetaDataMappingService {
                         }
                         currentState = applyRequest(currentState, request, indexMapperServices);
                         builder.success(request);
+                        appliedRequests.add(requestKey);
                     } catch (Exception e) {
                         builder.failure(request, e);
                     }
@@ -243,8 +254,9 @@ public class MetaDataMappingService {
             }
         }
 
-        private ClusterState applyRequest(ClusterState currentState, PutMappingClusterStateUpdateRequest request,
-                                          Map<Index, MapperService> indexMapperServices) throws IOException {
+        // package-private for testing
+        ClusterState applyRequest(ClusterState currentState, PutMappingClusterStateUpdateRequest request,
+                                  Map<Index, MapperService> indexMapperServices) throws IOException {
             String mappingType = request.type();
             CompressedXContent mappingUpdateSource = new CompressedXContent(request.source());
             final MetaData metaData = currentState.metaData();
@@ -32,6 +32,7 @@ import org.elasticsearch.cluster.routing.UnassignedInfo.AllocationStatus;
 import org.elasticsearch.common.Nullable;
 import org.elasticsearch.common.Randomness;
 import org.elasticsearch.common.collect.Tuple;
+import org.elasticsearch.common.util.Maps;
 import org.elasticsearch.index.Index;
 import org.elasticsearch.index.shard.ShardId;
 
@@ -70,7 +71,7 @@ public class RoutingNodes implements Iterable<RoutingNode> {
 
     private final UnassignedShards unassignedShards = new UnassignedShards(this);
 
-    private final Map<ShardId, List<ShardRouting>> assignedShards = new HashMap<>();
+    private final Map<ShardId, List<ShardRouting>> assignedShards;
 
     private final boolean readOnly;
 
@@ -91,10 +92,25 @@ public class RoutingNodes implements Iterable<RoutingNode> {
         this.readOnly = readOnly;
         final RoutingTable routingTable = clusterState.routingTable();
 
-        Map<String, LinkedHashMap<ShardId, ShardRouting>> nodesToShards = new HashMap<>();
+        // size the per-node and per-shard collections up front, this constructor runs for every reroute and for large clusters
+        // rehashing and growing them is a significant part of its cost
+        int shardIds = 0;
+        int shardCopies = 0;
+        for (ObjectCursor<IndexRoutingTable> indexRoutingTable : routingTable.indicesRouting().values()) {
+            for (IndexShardRoutingTable indexShard : indexRoutingTable.value) {
+                shardIds++;
+                shardCopies += indexShard.size();
+            }
+        }
+        final int dataNodes = clusterState.nodes().getDataNodes().size();
+        final int expectedShardsPerNode = dataNodes == 0 ? 0 : shardCopies / dataNodes + 1;
+        assignedShards = new HashMap<>(Maps.capacity(shardIds));
+
+        Map<String, LinkedHashMap<ShardId, ShardRouting>> nodesToShards = new HashMap<>(Maps.capacity(dataNodes));
         // fill in the nodeToShards with the "live" nodes
         for (ObjectCursor<DiscoveryNode> cursor : clusterState.nodes().getDataNodes().values()) {
-            nodesToShards.put(cursor.value.getId(), new LinkedHashMap<>()); // LinkedHashMap to preserve order
+            // LinkedHashMap to preserve order
+            nodesToShards.put(cursor.value.getId(), new LinkedHashMap<>(Maps.capacity(expectedShardsPerNode)));
         }
 
         // fill in the inverse of node -> shards allocated
@@ -102,6 +118,7 @@ public class RoutingNodes implements Iterable<RoutingNode> {
         for (ObjectCursor<IndexRoutingTable> indexRoutingTable : routingTable.indicesRouting().values()) {
             for (IndexShardRoutingTable indexShard : indexRoutingTable.value) {
                 assert indexShard.primary != null;
+                List<ShardRouting> assignedCopies = null;
                 for (ShardRouting shard : indexShard) {
                     // to get all the shards belonging to an index, including the replicas,
                     // we define a replica set and keep track of it. A replica set is identified
@@ -114,7 +131,11 @@ public class RoutingNodes implements Iterable<RoutingNode> {
                         if (previousValue != null) {
                             throw new IllegalArgumentException("Cannot have two different shards with same shard id on same node");
                         }
-                        assignedShardsAdd(shard);
+                        if (assignedCopies == null) {
+                            // room for one relocation target, more than one concurrent relocation per shard is rare
+                            assignedCopies = new ArrayList<>(indexShard.size() + 1);
+                        }
+                        assignedCopies.add(shard);
                         if (shard.relocating()) {
                             relocatingShards++;
                             entries = nodesToShards.computeIfAbsent(shard.relocatingNodeId(),
@@ -127,7 +148,7 @@ public class RoutingNodes implements Iterable<RoutingNode> {
                             if (previousValue != null) {
                                 throw new IllegalArgumentException("Cannot have two different shards with same shard id on same node");
                             }
-                            assignedShardsAdd(targetShardRouting);
+                            assignedCopies.add(targetShardRouting);
                         } else if (shard.initializing()) {
                             if (shard.primary()) {
                                 inactivePrimaryCount++;
@@ -139,6 +160,9 @@ public class RoutingNodes implements Iterable<RoutingNode> {
                         unassignedShards.add(shard);
                     }
                 }
+                if (assignedCopies != null) {
+                    assignedShards.put(indexShard.shardId(), assignedCopies);
+                }
             }
         }
         for (Map.Entry<String, LinkedHashMap<ShardId, ShardRouting>> entry : nodesToShards.entrySet()) {
@@ -889,6 +889,8 @@ public class BalancedShardsAllocator implements ShardsAllocator {
              * iteration order is different for each run and makes testing hard */
             Map<String, NodeAllocationResult> nodeExplanationMap = explain ? new HashMap<>() : null;
             List<Tuple<String, Float>> nodeWeights = explain ? new ArrayList<>() : null;
+            // the highest primary of the index on minNode, only computed when needed for tie breaking
+            int minNodeHigh = ModelIndex.HIGHEST_PRIMARY_UNKNOWN;
             for (ModelNode node : nodes.values()) {
                 if ((throttledNodes.contains(node) || node.containsShard(shard)) && explain == false) {
                     // decision is NO without needing to check anything further, so short circuit
@@ -924,8 +926,10 @@ public class BalancedShardsAllocator implements ShardsAllocator {
                          */
                         if (currentDecision.type() == decision.type()) {
                             final int repId = shard.id();
-                            final int nodeHigh = node.highestPrimary(shard.index().getName());
-                            final int minNodeHigh = minNode.highestPrimary(shard.getIndexName());
+                            final int nodeHigh = node.highestPrimary(shard.getIndexName());
+                            if (minNodeHigh == ModelIndex.HIGHEST_PRIMARY_UNKNOWN) {
+                                minNodeHigh = minNode.highestPrimary(shard.getIndexName());
+                            }
                             updateMinNode = ((((nodeHigh > repId && minNodeHigh > repId)
                                                    || (nodeHigh < repId && minNodeHigh < repId))
                                                   && (nodeHigh < minNodeHigh))
@@ -940,6 +944,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
                         minNode = node;
                         minWeight = currentWeight;
                         decision = currentDecision;
+                        minNodeHigh = ModelIndex.HIGHEST_PRIMARY_UNKNOWN;
                     }
                 }
             }
@@ -1110,15 +1115,20 @@ public class BalancedShardsAllocator implements ShardsAllocator {
 
     static final class ModelIndex implements Iterable<ShardRouting> {
         private final String id;
+        private static final int HIGHEST_PRIMARY_UNKNOWN = -2;
+
         private final Set<ShardRouting> shards = new HashSet<>(4); // expect few shards of same index to be allocated on same node
-        private int highestPrimary = -1;
+        private int highestPrimary = HIGHEST_PRIMARY_UNKNOWN;
 
         ModelIndex(String id) {
             this.id = id;
         }
 
+        /**
+         * Returns the highest shard id of the primaries of this index on this node, or {@code -1} if there are none.
+         */
         public int highestPrimary() {
-            if (highestPrimary == -1) {
+            if (highestPrimary == HIGHEST_PRIMARY_UNKNOWN) {
                 int maxId = -1;
                 for (ShardRouting shard : shards) {
                     if (shard.primary()) {
@@ -1144,13 +1154,13 @@ public class BalancedShardsAllocator implements ShardsAllocator {
         }
 
         public void removeShard(ShardRouting shard) {
-            highestPrimary = -1;
+            highestPrimary = HIGHEST_PRIMARY_UNKNOWN;
             assert shards.contains(shard) : "Shard not allocated on current node: " + shard;
             shards.remove(shard);
         }
 
         public void addShard(ShardRouting shard) {
-            highestPrimary = -1;
+            highestPrimary = HIGHEST_PRIMARY_UNKNOWN;
             assert !shards.contains(shard) : "Shard already allocated on current node: " + shard;
             shards.add(shard);
         }
@@ -0,0 +1,198 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.cluster.service;
+
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.xcontent.ToXContentFragment;
+import org.elasticsearch.common.xcontent.ToXContentObject;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Statistics about the batches of cluster state update tasks that the {@link MasterService} of a node executed, keyed by the name of
+ * the {@link org.elasticsearch.cluster.ClusterStateTaskExecutor} that ran them.
+ */
+public class ClusterStateTaskExecutionStats implements Writeable, ToXContentFragment {
+
+    private final Map<String, ExecutorStats> executorStats;
+
+    public ClusterStateTaskExecutionStats(Map<String, ExecutorStats> executorStats) {
+        this.executorStats = Collections.unmodifiableMap(new TreeMap<>(executorStats));
+    }
+
+    public ClusterStateTaskExecutionStats(StreamInput in) throws IOException {
+        executorStats = Collections.unmodifiableMap(new TreeMap<>(in.readMap(StreamInput::readString, ExecutorStats::new)));
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeMap(executorStats, StreamOutput::writeString, (o, stats) -> stats.writeTo(o));
+    }
+
+    public Map<String, ExecutorStats> getExecutorStats() {
+        return executorStats;
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject("cluster_state_tasks");
+        for (Map.Entry<String, ExecutorStats> entry : executorStats.entrySet()) {
+            builder.field(entry.getKey(), entry.getValue(), params);
+        }
+        builder.endObject();
+        return builder;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ClusterStateTaskExecutionStats that = (ClusterStateTaskExecutionStats) o;
+        return executorStats.equals(that.executorStats);
+    }
+
+    @Override
+    public int hashCode() {
+        return executorStats.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ClusterStateTaskExecutionStats(" + executorStats + ")";
+    }
+
+    /**
+     * Execution statistics of the batches run by a single kind of executor. Queue wait is measured for the oldest task of each batch,
+     * and execution time covers computing, publishing and applying the resulting cluster state.
+     */
+    public static class ExecutorStats implements Writeable, ToXContentObject {
+
+        private final long batchCount;
+        private final long taskCount;
+        private final long totalQueueWaitMillis;
+        private final long maxQueueWaitMillis;
+        private final long totalExecutionMillis;
+        private final long maxExecutionMillis;
+
+        public ExecutorStats(long batchCount, long taskCount, long totalQueueWaitMillis, long maxQueueWaitMillis,
+                             long totalExecutionMillis, long maxExecutionMillis) {
+            this.batchCount = batchCount;
+            this.taskCount = taskCount;
+            this.totalQueueWaitMillis = totalQueueWaitMillis;
+            this.maxQueueWaitMillis = maxQueueWaitMillis;
+            this.totalExecutionMillis = totalExecutionMillis;
+            this.maxExecutionMillis = maxExecutionMillis;
+        }
+
+        public ExecutorStats(StreamInput in) throws IOException {
+            batchCount = in.readVLong();
+            taskCount = in.readVLong();
+            totalQueueWaitMillis = in.readVLong();
+            maxQueueWaitMillis = in.readVLong();
+            totalExecutionMillis = in.readVLong();
+            maxExecutionMillis = in.readVLong();
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVLong(batchCount);
+            out.writeVLong(taskCount);
+            out.writeVLong(totalQueueWaitMillis);
+            out.writeVLong(maxQueueWaitMillis);
+            out.writeVLong(totalExecutionMillis);
+            out.writeVLong(maxExecutionMillis);
+        }
+
+        public long getBatchCount() {
+            return batchCount;
+        }
+
+        public long getTaskCount() {
+            return taskCount;
+        }
+
+        public TimeValue getTotalQueueWaitTime() {
+            return TimeValue.timeValueMillis(totalQueueWaitMillis);
+        }
+
+        public TimeValue getMaxQueueWaitTime() {
+            return TimeValue.timeValueMillis(maxQueueWaitMillis);
+        }
+
+        public TimeValue getTotalExecutionTime() {
+            return TimeValue.timeValueMillis(totalExecutionMillis);
+        }
+
+        public TimeValue getMaxExecutionTime() {
+            return TimeValue.timeValueMillis(maxExecutionMillis);
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject();
+            builder.field("batches", batchCount);
+            builder.field("tasks", taskCount);
+            builder.humanReadableField("total_queue_wait_time_in_millis", "total_queue_wait_time", getTotalQueueWaitTime());
+            builder.humanReadableField("max_queue_wait_time_in_millis", "max_queue_wait_time", getMaxQueueWaitTime());
+            builder.humanReadableField("total_execution_time_in_millis", "total_execution_time", getTotalExecutionTime());
+            builder.humanReadableField("max_execution_time_in_millis", "max_execution_time", getMaxExecutionTime());
+            builder.endObject();
+            return builder;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ExecutorStats that = (ExecutorStats) o;
+            return batchCount == that.batchCount &&
+                taskCount == that.taskCount &&
+                totalQueueWaitMillis == that.totalQueueWaitMillis &&
+                maxQueueWaitMillis == that.maxQueueWaitMillis &&
+                totalExecutionMillis == that.totalExecutionMillis &&
+                maxExecutionMillis == that.maxExecutionMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(batchCount, taskCount, totalQueueWaitMillis, maxQueueWaitMillis, totalExecutionMillis,
+                maxExecutionMillis);
+        }
+
+        @Override
+        public String toString() {
+            return "ExecutorStats(batches=" + batchCount
+                + ", tasks=" + taskCount
+                + ", totalQueueWait=" + getTotalQueueWaitTime()
+                + ", maxQueueWait=" + getMaxQueueWaitTime()
+                + ", totalExecution=" + getTotalExecutionTime()
+                + ", maxExecution=" + getMaxExecutionTime()
+                + ")";
+        }
+    }
+}
@@ -47,6 +47,7 @@ import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.text.Text;
 import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.common.util.concurrent.CountDown;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
@@ -60,10 +61,12 @@ import org.elasticsearch.threadpool.ThreadPool;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -92,6 +95,8 @@ public class MasterService extends AbstractLifecycleComponent {
     private volatile PrioritizedEsThreadPoolExecutor threadPoolExecutor;
     private volatile Batcher taskBatcher;
 
+    private final ConcurrentMap<String, TaskExecutionTracker> taskExecutionStats = ConcurrentCollections.newConcurrentMap();
+
     public MasterService(Settings settings, ClusterSettings clusterSettings, ThreadPool threadPool) {
         this.nodeName = Objects.requireNonNull(Node.NODE_NAME_SETTING.get(settings));
 
@@ -148,7 +153,17 @@ public class MasterService extends AbstractLifecycleComponent {
         protected void run(Object batchingKey, List<? extends BatchedTask> tasks, String tasksSummary) {
             ClusterStateTaskExecutor<Object> taskExecutor = (ClusterStateTaskExecutor<Object>) batchingKey;
             List<UpdateTask> updateTasks = (List<UpdateTask>) tasks;
-            runTasks(new TaskInputs(taskExecutor, updateTasks, tasksSummary));
+            long maxQueueWaitMillis = 0;
+            for (UpdateTask task : updateTasks) {
+                maxQueueWaitMillis = Math.max(maxQueueWaitMillis, task.getAgeInMillis());
+            }
+            final long startTimeMillis = threadPool.relativeTimeInMillis();
+            try {
+                runTasks(new TaskInputs(taskExecutor, updateTasks, tasksSummary));
+            } finally {
+                taskExecutionStats.computeIfAbsent(executorName(taskExecutor), k -> new TaskExecutionTracker())
+                    .onBatchExecuted(updateTasks.size(), maxQueueWaitMillis, getTimeSince(startTimeMillis).millis());
+            }
         }
 
         class UpdateTask extends BatchedTask {
@@ -467,6 +482,26 @@ public class MasterService extends AbstractLifecycleComponent {
         }).collect(Collectors.toList());
     }
 
+    /**
+     * Returns statistics about the batches of tasks this service has executed, keyed by the name of the executor that ran them.
+     */
+    public ClusterStateTaskExecutionStats getTaskExecutionStats() {
+        final Map<String, ClusterStateTaskExecutionStats.ExecutorStats> stats = new HashMap<>();
+        taskExecutionStats.forEach((executorName, tracker) -> stats.put(executorName, tracker.stats()));
+        return new ClusterStateTaskExecutionStats(stats);
+    }
+
+    /**
+     * The name under which statistics for the given executor are tracked. Executors are usually long-lived and shared by all tasks of
+     * the same kind, unlike task sources which often carry index names, so this keeps the number of tracked entries bounded.
+     */
+    static String executorName(ClusterStateTaskExecutor<?> executor) {
+        final String className = executor.getClass().getName();
+        final int lambdaIndex = className.indexOf("$$Lambda");
+        final String name = lambdaIndex == -1 ? className : className.substring(0, lambdaIndex);
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
     /**
      * Returns the number of currently pending tasks.
      */
@@ -800,4 +835,29 @@ public class MasterService extends AbstractLifecycleComponent {
         }
     }
 
+    /**
+     * Accumulates the {@link ClusterStateTaskExecutionStats.ExecutorStats} of a single kind of {@link ClusterStateTaskExecutor}.
+     */
+    private static final class TaskExecutionTracker {
+        private long batchCount;
+        private long taskCount;
+        private long totalQueueWaitMillis;
+        private long maxQueueWaitMillis;
+        private long totalExecutionMillis;
+        private long maxExecutionMillis;
+
+        synchronized void onBatchExecuted(int tasks, long queueWaitMillis, long executionMillis) {
+            batchCount++;
+            taskCount += tasks;
+            totalQueueWaitMillis += queueWaitMillis;
+            maxQueueWaitMillis = Math.max(maxQueueWaitMillis, queueWaitMillis);
+            totalExecutionMillis += executionMillis;
+            maxExecutionMillis = Math.max(maxExecutionMillis, executionMillis);
+        }
+
+        synchronized ClusterStateTaskExecutionStats.ExecutorStats stats() {
+            return new ClusterStateTaskExecutionStats.ExecutorStats(batchCount, taskCount, totalQueueWaitMillis, maxQueueWaitMillis,
+                totalExecutionMillis, maxExecutionMillis);
+        }
+    }
 }
@@ -41,8 +41,11 @@ import java.time.temporal.TemporalField;
 import java.time.temporal.TemporalQueries;
 import java.time.zone.ZoneOffsetTransition;
 import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.LongUnaryOperator;
 
 /**
  * A strategy for rounding date/time based values.
@@ -163,6 +166,47 @@ public abstract class Rounding implements Writeable {
      */
     public abstract long nextRoundingValue(long value);
 
+    /**
+     * Prepare this rounding for rounding values that are expected to be between {@code minUtcMillis} and {@code maxUtcMillis}, both
+     * inclusive. The returned {@link Prepared} rounds any value exactly like {@link #round(long)} does, but it is only faster for values
+     * inside of the range it was prepared for.
+     */
+    public Prepared prepare(long minUtcMillis, long maxUtcMillis) {
+        return prepareForUnknown();
+    }
+
+    /**
+     * Prepare this rounding for values whose range isn't known.
+     */
+    public Prepared prepareForUnknown() {
+        return new Prepared() {
+            @Override
+            public long round(long utcMillis) {
+                return Rounding.this.round(utcMillis);
+            }
+
+            @Override
+            public long nextRoundingValue(long utcMillis) {
+                return Rounding.this.nextRoundingValue(utcMillis);
+            }
+        };
+    }
+
+    /**
+     * A {@link Rounding} that has been prepared for rounding many values, see {@link #prepare(long, long)}.
+     */
+    public interface Prepared {
+        /**
+         * Rounds the given value, see {@link Rounding#round(long)}.
+         */
+        long round(long utcMillis);
+
+        /**
+         * Returns the next rounding value, see {@link Rounding#nextRoundingValue(long)}.
+         */
+        long nextRoundingValue(long utcMillis);
+    }
+
     @Override
     public abstract boolean equals(Object obj);
 
@@ -380,6 +424,15 @@ public abstract class Rounding implements Writeable {
             }
         }
 
+        @Override
+        public Prepared prepare(long minUtcMillis, long maxUtcMillis) {
+            if (fixedOffsetMillis != TZ_OFFSET_NON_FIXED) {
+                // round() is plain arithmetic already
+                return prepareForUnknown();
+            }
+            return TransitionTableRounding.build(this, timeZone.getRules(), unit::roundFloor, minUtcMillis, maxUtcMillis);
+        }
+
         @Override
         public long nextRoundingValue(long utcMillis) {
             if (unitRoundsToMidnight) {
@@ -515,6 +568,16 @@ public abstract class Rounding implements Writeable {
             }
         }
 
+        @Override
+        public Prepared prepare(long minUtcMillis, long maxUtcMillis) {
+            if (fixedOffsetMillis != TZ_OFFSET_NON_FIXED) {
+                // round() is plain arithmetic already
+                return prepareForUnknown();
+            }
+            return TransitionTableRounding.build(this, timeZone.getRules(), localMillis -> roundKey(localMillis, interval) * interval,
+                minUtcMillis, maxUtcMillis);
+        }
+
         private static long roundKey(long value, long interval) {
             if (value < 0) {
                 return (value - interval + 1) / interval;
@@ -556,6 +619,112 @@ public abstract class Rounding implements Writeable {
         }
     }
 
+    /**
+     * A {@link Prepared} rounding for time zones with transitions. It looks up the offset of a value in a table of the transitions
+     * around the range it was prepared for, rounds the local time with plain arithmetic and converts it back using the same offset.
+     * This is only correct if the rounded local time exists exactly once and before any later transition, which is the case for all
+     * values but those close to a transition. Such values, and values outside of the table, are rounded by the original rounding.
+     */
+    static final class TransitionTableRounding implements Prepared {
+
+        /** The maximum number of transitions to look up, twice a year for a century for zones with daylight saving time */
+        static final int MAX_TRANSITIONS = 200;
+
+        private final Rounding delegate;
+        private final LongUnaryOperator localRounding;
+        /** The instant each offset starts to apply, in ascending order */
+        private final long[] starts;
+        /** The offset in milliseconds that applies from the instant with the same index in {@link #starts} */
+        private final long[] offsets;
+        /**
+         * The minimum local time a rounded value must have for the offset with the same index, in order for it not to be the local
+         * time of an earlier instant too
+         */
+        private final long[] minLocalMillis;
+        /** The first instant that isn't covered by the table anymore */
+        private final long end;
+
+        private TransitionTableRounding(Rounding delegate, LongUnaryOperator localRounding, long[] starts, long[] offsets,
+                                        long[] minLocalMillis, long end) {
+            this.delegate = delegate;
+            this.localRounding = localRounding;
+            this.starts = starts;
+            this.offsets = offsets;
+            this.minLocalMillis = minLocalMillis;
+            this.end = end;
+        }
+
+        static TransitionTableRounding build(Rounding delegate, ZoneRules rules, LongUnaryOperator localRounding,
+                                             long minUtcMillis, long maxUtcMillis) {
+            final List<ZoneOffsetTransition> transitions = new ArrayList<>();
+            final Instant min = Instant.ofEpochMilli(minUtcMillis);
+            // the transition that the offset at minUtcMillis starts from, if any
+            ZoneOffsetTransition transition = rules.previousTransition(min.plusMillis(1));
+            if (transition != null) {
+                transitions.add(transition);
+            }
+            transition = rules.nextTransition(min);
+            while (transition != null && transition.getInstant().toEpochMilli() <= maxUtcMillis
+                    && transitions.size() < MAX_TRANSITIONS) {
+                transitions.add(transition);
+                transition = rules.nextTransition(transition.getInstant());
+            }
+            final long end = transition == null ? Long.MAX_VALUE : transition.getInstant().toEpochMilli();
+
+            final boolean startsWithTransition = transitions.isEmpty() == false && transitions.get(0).getInstant().isAfter(min) == false;
+            final int size = startsWithTransition ? transitions.size() : transitions.size() + 1;
+            final long[] starts = new long[size];
+            final long[] offsets = new long[size];
+            final long[] minLocalMillis = new long[size];
+            int i = 0;
+            if (startsWithTransition == false) {
+                // there was no transition before minUtcMillis
+                starts[0] = Long.MIN_VALUE;
+                offsets[0] = rules.getOffset(min).getTotalSeconds() * 1000L;
+                minLocalMillis[0] = Long.MIN_VALUE;
+                i++;
+            }
+            for (ZoneOffsetTransition t : transitions) {
+                final long instant = t.getInstant().toEpochMilli();
+                starts[i] = instant;
+                offsets[i] = t.getOffsetAfter().getTotalSeconds() * 1000L;
+                // local times up to the later of the two local times of the transition also exist before it
+                final long transitionMinLocal = instant + Math.max(t.getOffsetBefore().getTotalSeconds(),
+                    t.getOffsetAfter().getTotalSeconds()) * 1000L;
+                minLocalMillis[i] = i == 0 ? transitionMinLocal : Math.max(minLocalMillis[i - 1], transitionMinLocal);
+                i++;
+            }
+            return new TransitionTableRounding(delegate, localRounding, starts, offsets, minLocalMillis, end);
+        }
+
+        @Override
+        public long round(long utcMillis) {
+            if (utcMillis < starts[0] || utcMillis >= end) {
+                return delegate.round(utcMillis);
+            }
+            int index = 0;
+            if (starts.length > 1) {
+                index = Arrays.binarySearch(starts, utcMillis);
+                if (index < 0) {
+                    // the insertion point is the index of the first start after the value
+                    index = -2 - index;
+                }
+            }
+            final long offset = offsets[index];
+            final long roundedLocalMillis = localRounding.applyAsLong(utcMillis + offset);
+            if (roundedLocalMillis < minLocalMillis[index]) {
+                // the rounded value is before the start of the offset or it also exists with an earlier offset
+                return delegate.round(utcMillis);
+            }
+            return roundedLocalMillis - offset;
+        }
+
+        @Override
+        public long nextRoundingValue(long utcMillis) {
+            return delegate.nextRoundingValue(utcMillis);
+        }
+    }
+
     public static Rounding read(StreamInput in) throws IOException {
         Rounding rounding;
         byte id = in.readByte();
@@ -52,12 +52,14 @@ import java.util.function.ToLongBiFunction;
  * if they are reading a segment that a writer is writing to).
  * <p>
  * The LRU functionality is backed by a single doubly-linked list chaining the entries in order of insertion. This
- * LRU list is protected by a lock that serializes all writes to it. There are opportunities for improvements
- * here if write throughput is a concern.
+ * LRU list is protected by a lock that serializes all writes to it. To keep hits on hot entries from contending on this
+ * lock, a read that finds the lock held by another thread skips promoting the entry it found rather than waiting. The
+ * LRU order is therefore approximate under concurrent reads, but an entry that is read often is promoted by most of
+ * its reads and so stays near the head. There are further opportunities for improvements here if write throughput is
+ * a concern.
  * <ol>
  * <li>LRU list mutations could be inserted into a blocking queue that a single thread is reading from
  * and applying to the LRU list.</li>
- * <li>Promotions could be deferred for entries that were "recently" promoted.</li>
  * <li>Locks on the list could be taken per node being modified instead of globally.</li>
  * </ol>
  * <p>
@@ -366,11 +368,35 @@ public class Cache<K, V> {
         if (entry == null) {
             return null;
         } else {
-            promote(entry, now);
+            promoteOnRead(entry, now);
             return entry.value;
         }
     }
 
+    /**
+     * Promotes an entry that was just read, unless another thread holds the LRU lock and the entry is already linked
+     * into the LRU list, in which case the promotion is dropped so that concurrent hits do not queue up on the lock.
+     * Entries that are still new must always be linked so that they are accounted for and can be evicted. Promotions
+     * are never dropped when entries expire after access: eviction stops at the first tail entry that has not expired,
+     * so a recently read entry that was left at the tail would keep expired entries in front of it from being pruned.
+     */
+    private void promoteOnRead(Entry<K, V> entry, long now) {
+        if (entriesExpireAfterAccess) {
+            promote(entry, now);
+            return;
+        }
+        try (ReleasableLock locked = lruLock.tryAcquire()) {
+            if (locked != null) {
+                promote(entry, now);
+                return;
+            }
+        }
+        // the state only moves from NEW to EXISTING to DELETED, so a stale read can only make us take the lock needlessly
+        if (entry.state == State.NEW) {
+            promote(entry, now);
+        }
+    }
+
     /**
      * If the specified key is not already associated with a value (or is mapped to null), attempts to compute its
      * value using the given mapping function and enters it into this map unless null. The load method for a given key
@@ -60,10 +60,6 @@ public final class ShardCoreKeyMap {
      * key of this reader can be found later using {@link #getCoreKeysForIndex(String)}.
      */
     public void add(LeafReader reader) {
-        final ShardId shardId = ShardUtils.extractShardId(reader);
-        if (shardId == null) {
-            throw new IllegalArgumentException("Could not extract shard id from " + reader);
-        }
         final IndexReader.CacheHelper cacheHelper = reader.getCoreCacheHelper();
         if (cacheHelper == null) {
             throw new IllegalArgumentException("Reader " + reader + " does not support caching");
@@ -71,12 +67,18 @@ public final class ShardCoreKeyMap {
         final IndexReader.CacheKey coreKey = cacheHelper.getKey();
 
         if (coreKeyToShard.containsKey(coreKey)) {
-            // Do this check before entering the synchronized block in order to
-            // avoid taking the mutex if possible (which should happen most of
-            // the time).
+            // Do this check before extracting the shard id and entering the
+            // synchronized block in order to avoid unwrapping the reader and
+            // taking the mutex if possible (which should happen most of the
+            // time).
             return;
         }
 
+        final ShardId shardId = ShardUtils.extractShardId(reader);
+        if (shardId == null) {
+            throw new IllegalArgumentException("Could not extract shard id from " + reader);
+        }
+
         final String index = shardId.getIndexName();
         synchronized (this) {
             if (coreKeyToShard.containsKey(coreKey) == false) {
@@ -126,9 +128,10 @@ public final class ShardCoreKeyMap {
 
     /**
      * Return the {@link ShardId} that holds the given segment, or {@code null}
-     * if this segment is not tracked.
+     * if this segment is not tracked. This does not take the mutex since it
+     * is called by the query cache on every hit and miss.
      */
-    public synchronized ShardId getShardId(Object coreKey) {
+    public ShardId getShardId(Object coreKey) {
         return coreKeyToShard.get(coreKey);
     }
 
@@ -530,7 +530,8 @@ public final class Settings implements ToXContentFragment {
         Builder builder = new Builder();
         int numberOfSettings = in.readVInt();
         for (int i = 0; i < numberOfSettings; i++) {
-            String key = in.readString();
+            // the same keys are repeated in the settings of every index in the cluster state, so share a single instance of each
+            String key = in.readString().intern();
             Object value = in.readGenericValue();
             if (value == null) {
                 builder.putNull(key);
@@ -81,7 +81,7 @@ public class BigArrays {
         static final long SHALLOW_SIZE = RamUsageEstimator.shallowSizeOfInstance(ByteArrayWrapper.class);
 
         private final Releasable releasable;
-        private final long size;
+        long size;
 
         AbstractArrayWrapper(BigArrays bigArrays, long size, Releasable releasable, boolean clearOnResize) {
             super(bigArrays, clearOnResize);
@@ -99,6 +99,12 @@ public class BigArrays {
             Releasables.close(releasable);
         }
 
+        /** The number of elements this array can hold without reallocating. */
+        abstract int capacity();
+
+        /** Set the elements between <code>fromIndex</code> (inclusive) and <code>toIndex</code> (exclusive) to zero. */
+        abstract void clear(long fromIndex, long toIndex);
+
     }
 
     private static class ByteArrayWrapper extends AbstractArrayWrapper implements ByteArray {
@@ -150,6 +156,16 @@ public class BigArrays {
             assert indexIsInt(toIndex);
             Arrays.fill(array, (int) fromIndex, (int) toIndex, value);
         }
+
+        @Override
+        int capacity() {
+            return array.length;
+        }
+
+        @Override
+        void clear(long fromIndex, long toIndex) {
+            fill(fromIndex, toIndex, (byte) 0);
+        }
     }
 
     private static class IntArrayWrapper extends AbstractArrayWrapper implements IntArray {
@@ -193,6 +209,15 @@ public class BigArrays {
             Arrays.fill(array, (int) fromIndex, (int) toIndex, value);
         }
 
+        @Override
+        int capacity() {
+            return array.length;
+        }
+
+        @Override
+        void clear(long fromIndex, long toIndex) {
+            fill(fromIndex, toIndex, 0);
+        }
     }
 
     private static class LongArrayWrapper extends AbstractArrayWrapper implements LongArray {
@@ -235,6 +260,16 @@ public class BigArrays {
             assert indexIsInt(toIndex);
             Arrays.fill(array, (int) fromIndex, (int) toIndex, value);
         }
+
+        @Override
+        int capacity() {
+            return array.length;
+        }
+
+        @Override
+        void clear(long fromIndex, long toIndex) {
+            fill(fromIndex, toIndex, 0L);
+        }
     }
 
     private static class DoubleArrayWrapper extends AbstractArrayWrapper implements DoubleArray {
@@ -278,6 +313,15 @@ public class BigArrays {
             Arrays.fill(array, (int) fromIndex, (int) toIndex, Double.doubleToRawLongBits(value));
         }
 
+        @Override
+        int capacity() {
+            return array.length;
+        }
+
+        @Override
+        void clear(long fromIndex, long toIndex) {
+            fill(fromIndex, toIndex, 0d);
+        }
     }
 
     private static class FloatArrayWrapper extends AbstractArrayWrapper implements FloatArray {
@@ -321,6 +365,15 @@ public class BigArrays {
             Arrays.fill(array, (int) fromIndex, (int) toIndex, Float.floatToRawIntBits(value));
         }
 
+        @Override
+        int capacity() {
+            return array.length;
+        }
+
+        @Override
+        void clear(long fromIndex, long toIndex) {
+            fill(fromIndex, toIndex, 0f);
+        }
     }
 
     private static class ObjectArrayWrapper<T> extends AbstractArrayWrapper implements ObjectArray<T> {
@@ -354,6 +407,17 @@ public class BigArrays {
             return ret;
         }
 
+        @Override
+        int capacity() {
+            // the ram usage of this array is computed from its size, so it may not be resized without adjusting the breaker
+            return (int) size();
+        }
+
+        @Override
+        void clear(long fromIndex, long toIndex) {
+            Arrays.fill(array, (int) fromIndex, (int) toIndex, null);
+        }
+
     }
 
     final PageCacheRecycler recycler;
@@ -425,6 +489,14 @@ public class BigArrays {
         return this.circuitBreakingInstance;
     }
 
+    /**
+     * Return an instance of this BigArrays class that shares its recycler and circuit breaking behaviour but accounts
+     * memory on the given circuit breaker service
+     */
+    public BigArrays withBreakerService(CircuitBreakerService breakerService) {
+        return new BigArrays(recycler, breakerService, breakerName, checkBreaker);
+    }
+
     public CircuitBreakerService breakerService() {
         return this.circuitBreakingInstance.breakerService;
     }
@@ -441,6 +513,22 @@ public class BigArrays {
         return array;
     }
 
+    /**
+     * Resize an array that fits in a single page without reallocating it, if its backing array is large enough. This is typically
+     * the case for arrays that were allocated from a recycled page, and saves taking a new page and copying the content over.
+     * Returns {@code null} if a new array needs to be allocated.
+     */
+    private static <T extends AbstractArrayWrapper> T resizeWrapperInPlace(T array, long newSize) {
+        if (newSize > array.capacity()) {
+            return null;
+        }
+        if (array.clearOnResize && newSize > array.size()) {
+            array.clear(array.size(), newSize);
+        }
+        array.size = newSize;
+        return array;
+    }
+
     private <T extends BigArray> T validate(T array) {
         boolean success = false;
         try {
@@ -486,6 +574,10 @@ public class BigArrays {
         if (array instanceof BigByteArray) {
             return resizeInPlace((BigByteArray) array, size);
         } else {
+            final ByteArrayWrapper resized = resizeWrapperInPlace((ByteArrayWrapper) array, size);
+            if (resized != null) {
+                return resized;
+            }
             AbstractArray arr = (AbstractArray) array;
             final ByteArray newArray = newByteArray(size, arr.clearOnResize);
             final byte[] rawArray = ((ByteArrayWrapper) array).array;
@@ -570,6 +662,10 @@ public class BigArrays {
         if (array instanceof BigIntArray) {
             return resizeInPlace((BigIntArray) array, size);
         } else {
+            final IntArrayWrapper resized = resizeWrapperInPlace((IntArrayWrapper) array, size);
+            if (resized != null) {
+                return resized;
+            }
             AbstractArray arr = (AbstractArray) array;
             final IntArray newArray = newIntArray(size, arr.clearOnResize);
             for (long i = 0, end = Math.min(size, array.size()); i < end; ++i) {
@@ -622,6 +718,10 @@ public class BigArrays {
         if (array instanceof BigLongArray) {
             return resizeInPlace((BigLongArray) array, size);
         } else {
+            final LongArrayWrapper resized = resizeWrapperInPlace((LongArrayWrapper) array, size);
+            if (resized != null) {
+                return resized;
+            }
             AbstractArray arr = (AbstractArray) array;
             final LongArray newArray = newLongArray(size, arr.clearOnResize);
             for (long i = 0, end = Math.min(size, array.size()); i < end; ++i) {
@@ -671,6 +771,10 @@ public class BigArrays {
         if (array instanceof BigDoubleArray) {
             return resizeInPlace((BigDoubleArray) array, size);
         } else {
+            final DoubleArrayWrapper resized = resizeWrapperInPlace((DoubleArrayWrapper) array, size);
+            if (resized != null) {
+                return resized;
+            }
             AbstractArray arr = (AbstractArray) array;
             final DoubleArray newArray = newDoubleArray(size, arr.clearOnResize);
             for (long i = 0, end = Math.min(size, array.size()); i < end; ++i) {
@@ -720,6 +824,10 @@ public class BigArrays {
         if (array instanceof BigFloatArray) {
             return resizeInPlace((BigFloatArray) array, size);
         } else {
+            final FloatArrayWrapper resized = resizeWrapperInPlace((FloatArrayWrapper) array, size);
+            if (resized != null) {
+                return resized;
+            }
             AbstractArray arr = (AbstractArray) array;
             final FloatArray newArray = newFloatArray(size, arr.clearOnResize);
             for (long i = 0, end = Math.min(size, array.size()); i < end; ++i) {
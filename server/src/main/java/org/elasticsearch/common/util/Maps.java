@@ -99,4 +99,16 @@ public class Maps {
         return map;
     }
 
+    /**
+     * Returns the initial capacity for a {@link java.util.HashMap} or {@link java.util.LinkedHashMap} with the default load factor
+     * that can hold the given number of entries without being resized.
+     *
+     * @param expectedSize the number of entries the map is expected to hold
+     * @return the initial capacity to create the map with
+     */
+    public static int capacity(final int expectedSize) {
+        assert expectedSize >= 0 : "expected size must not be negative but was [" + expectedSize + "]";
+        return (int) (expectedSize / 0.75f) + 1;
+    }
+
 }
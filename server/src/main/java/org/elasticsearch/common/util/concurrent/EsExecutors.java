@@ -30,11 +30,15 @@ import org.elasticsearch.node.Node;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.LinkedTransferQueue;
 import java.util.concurrent.RunnableFuture;
 import java.util.concurrent.ScheduledExecutorService;
@@ -210,6 +214,70 @@ public class EsExecutors {
         return DIRECT_EXECUTOR_SERVICE;
     }
 
+    /**
+     * Runs the given tasks, which must be independent of each other, on up to {@code maxConcurrency} threads and returns once all
+     * of them completed. The calling thread takes part in running the tasks and only ever waits for tasks that other threads
+     * already started, so this makes progress even if the executor does not run the helper tasks in a timely manner. All tasks
+     * run even if some of them fail. The failure of the first failed task is then rethrown as is, with the failures of the other
+     * tasks added as suppressed exceptions, except that an {@link Error} is always rethrown in preference to an exception.
+     */
+    public static void runConcurrently(List<? extends Runnable> tasks, int maxConcurrency, Executor executor) {
+        final int helpers = Math.min(maxConcurrency, tasks.size()) - 1;
+        Throwable failure = null;
+        if (helpers <= 0) {
+            for (Runnable task : tasks) {
+                try {
+                    task.run();
+                } catch (RuntimeException | Error e) {
+                    failure = addFailure(failure, e);
+                }
+            }
+        } else {
+            final List<FutureTask<Void>> futures =
+                tasks.stream().map(task -> new FutureTask<Void>(task, null)).collect(Collectors.toList());
+            final Queue<FutureTask<Void>> queue = new ConcurrentLinkedQueue<>(futures);
+            final Runnable worker = () -> {
+                FutureTask<Void> future;
+                while ((future = queue.poll()) != null) {
+                    future.run();
+                }
+            };
+            for (int i = 0; i < helpers; i++) {
+                try {
+                    executor.execute(worker);
+                } catch (EsRejectedExecutionException e) {
+                    // the calling thread runs the remaining tasks itself
+                    break;
+                }
+            }
+            worker.run();
+            for (FutureTask<Void> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failure = addFailure(failure, e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failure = addFailure(failure, new IllegalStateException("interrupted while waiting for concurrent tasks", e));
+                    break;
+                }
+            }
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw (RuntimeException) failure;
+        }
+    }
+
+    private static Throwable addFailure(Throwable failure, Throwable e) {
+        if (failure != null && failure instanceof Error == false && e instanceof Error) {
+            e.addSuppressed(failure);
+            return e;
+        }
+        return ExceptionsHelper.useOrSuppress(failure, e);
+    }
+
     public static String threadName(Settings settings, String ... names) {
         String namePrefix =
                 Arrays
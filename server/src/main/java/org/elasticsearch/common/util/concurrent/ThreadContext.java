@@ -135,9 +135,11 @@ public final class ThreadContext implements Closeable, Writeable {
          * This is needed so the DeprecationLogger in another thread can see the value of X-Opaque-ID provided by a user.
          * Otherwise when context is stash, it should be empty.
          */
-        if (context.requestHeaders.containsKey(Task.X_OPAQUE_ID)) {
-            ThreadContextStruct threadContextStruct =
-                DEFAULT_CONTEXT.putHeaders(Map.of(Task.X_OPAQUE_ID, context.requestHeaders.get(Task.X_OPAQUE_ID)));
+        final String opaqueId = context.requestHeaders.get(Task.X_OPAQUE_ID);
+        if (opaqueId != null) {
+            // the default context has no headers, so there is nothing to copy or check for conflicts
+            ThreadContextStruct threadContextStruct = new ThreadContextStruct(Map.of(Task.X_OPAQUE_ID, opaqueId),
+                DEFAULT_CONTEXT.responseHeaders, DEFAULT_CONTEXT.transientHeaders, DEFAULT_CONTEXT.isSystemContext);
             threadLocal.set(threadContextStruct);
         } else {
             threadLocal.set(null);
@@ -611,15 +613,24 @@ public final class ThreadContext implements Closeable, Writeable {
         }
 
         private void writeTo(StreamOutput out, Map<String, String> defaultHeaders) throws IOException {
-            final Map<String, String> requestHeaders;
-            if (defaultHeaders.isEmpty()) {
-                requestHeaders = this.requestHeaders;
-            } else {
-                requestHeaders = new HashMap<>(defaultHeaders);
-                requestHeaders.putAll(this.requestHeaders);
+            // default headers are only sent if they are not overridden by the request headers; they are written alongside the
+            // request headers rather than merged into a new map since this is called for every outgoing transport message
+            int defaultHeadersToWrite = 0;
+            for (String key : defaultHeaders.keySet()) {
+                if (requestHeaders.containsKey(key) == false) {
+                    defaultHeadersToWrite++;
+                }
             }
 
-            out.writeVInt(requestHeaders.size());
+            out.writeVInt(requestHeaders.size() + defaultHeadersToWrite);
+            if (defaultHeadersToWrite > 0) {
+                for (Map.Entry<String, String> entry : defaultHeaders.entrySet()) {
+                    if (requestHeaders.containsKey(entry.getKey()) == false) {
+                        out.writeString(entry.getKey());
+                        out.writeString(entry.getValue());
+                    }
+                }
+            }
             for (Map.Entry<String, String> entry : requestHeaders.entrySet()) {
                 out.writeString(entry.getKey());
                 out.writeString(entry.getValue());
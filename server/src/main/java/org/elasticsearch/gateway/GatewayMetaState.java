@@ -41,10 +41,14 @@ import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.collect.ImmutableOpenMap;
 import org.elasticsearch.common.collect.Tuple;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.index.Index;
 import org.elasticsearch.plugins.MetaDataUpgrader;
+import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.transport.TransportService;
 
 import java.io.IOException;
@@ -55,6 +59,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -73,8 +78,21 @@ import java.util.function.UnaryOperator;
 public class GatewayMetaState implements PersistedState {
     protected static final Logger logger = LogManager.getLogger(GatewayMetaState.class);
 
+    /**
+     * The maximum number of index metadata files written at the same time when persisting a cluster state. Each of these writes ends
+     * with its own fsyncs, so writing them concurrently lets the filesystem overlap the flushes instead of paying for them one by one.
+     */
+    public static final Setting<Integer> MAX_CONCURRENT_INDEX_METADATA_WRITES_SETTING =
+        new Setting<>("gateway.max_concurrent_index_metadata_writes",
+            (s) -> Integer.toString(Math.min(4, EsExecutors.numberOfProcessors(s))),
+            (s) -> Setting.parseInt(s, 1, "gateway.max_concurrent_index_metadata_writes"), Property.NodeScope);
+
     private final MetaStateService metaStateService;
     private final Settings settings;
+    private final int maxConcurrentIndexMetaDataWrites;
+
+    // index metadata is written on the calling thread only until start() provides an executor for the helper threads
+    private Executor indexMetaDataWriteExecutor = EsExecutors.newDirectExecutorService();
 
     // On master-eligible Zen2 nodes, we use this very object for the PersistedState (so that the state is actually persisted); on other
     // nodes we use an InMemoryPersistedState instead and persist using a cluster applier if needed. In all cases it's an error to try and
@@ -91,6 +109,7 @@ public class GatewayMetaState implements PersistedState {
     public GatewayMetaState(Settings settings, MetaStateService metaStateService) {
         this.settings = settings;
         this.metaStateService = metaStateService;
+        this.maxConcurrentIndexMetaDataWrites = MAX_CONCURRENT_INDEX_METADATA_WRITES_SETTING.get(settings);
     }
 
     public void start(TransportService transportService, ClusterService clusterService,
@@ -103,6 +122,9 @@ public class GatewayMetaState implements PersistedState {
             throw new ElasticsearchException("failed to load metadata", e);
         }
         incrementalWrite = false;
+        if (transportService != null) {
+            indexMetaDataWriteExecutor = transportService.getThreadPool().executor(ThreadPool.Names.GENERIC);
+        }
 
         applyClusterStateUpdaters(transportService, clusterService);
         if (DiscoveryNode.isMasterNode(settings) == false) {
@@ -286,13 +308,15 @@ public class GatewayMetaState implements PersistedState {
         private final Manifest previousManifest;
         private final MetaStateService metaStateService;
         private boolean finished;
+        // set while index metadata is written concurrently, failures then roll back once all writes are done
+        private boolean deferRollback;
 
         AtomicClusterStateWriter(MetaStateService metaStateService, Manifest previousManifest) {
             this.metaStateService = metaStateService;
             assert previousManifest != null;
             this.previousManifest = previousManifest;
-            this.commitCleanupActions = new ArrayList<>();
-            this.rollbackCleanupActions = new ArrayList<>();
+            this.commitCleanupActions = Collections.synchronizedList(new ArrayList<>());
+            this.rollbackCleanupActions = Collections.synchronizedList(new ArrayList<>());
             this.finished = false;
         }
 
@@ -324,9 +348,53 @@ public class GatewayMetaState implements PersistedState {
                 commitCleanupActions.add(() -> metaStateService.cleanupIndex(index, generation));
                 return generation;
             } catch (WriteStateException e) {
+                if (deferRollback == false) {
+                    rollback();
+                }
+                throw e;
+            }
+        }
+
+        /**
+         * Executes the given actions, writing the metadata of up to {@code maxConcurrency} indices at the same time. If any of the
+         * writes fails then the whole transaction is rolled back once all of them completed.
+         *
+         * @return the new index metadata state generation of each index, to be used in manifest file.
+         * @throws WriteStateException if exception occurs, any further exceptions are added as suppressed exceptions.
+         */
+        Map<Index, Long> writeIndices(Iterable<IndexMetaDataAction> actions, int maxConcurrency, Executor executor)
+                throws WriteStateException {
+            assert finished == false : FINISHED_MSG;
+            final List<IndexMetaDataWrite> writes = new ArrayList<>();
+            for (IndexMetaDataAction action : actions) {
+                writes.add(new IndexMetaDataWrite(action, this));
+            }
+            deferRollback = true;
+            try {
+                EsExecutors.runConcurrently(writes, maxConcurrency, executor);
+            } catch (RuntimeException e) {
                 rollback();
                 throw e;
+            } finally {
+                deferRollback = false;
             }
+
+            final Map<Index, Long> generations = new HashMap<>();
+            WriteStateException failure = null;
+            for (IndexMetaDataWrite write : writes) {
+                if (write.failure == null) {
+                    generations.put(write.action.getIndex(), write.generation);
+                } else if (failure == null) {
+                    failure = write.failure;
+                } else {
+                    failure.addSuppressed(write.failure);
+                }
+            }
+            if (failure != null) {
+                rollback();
+                throw failure;
+            }
+            return generations;
         }
 
         void writeManifestAndCleanup(String reason, Manifest manifest) throws WriteStateException {
@@ -387,18 +455,11 @@ public class GatewayMetaState implements PersistedState {
         Map<Index, Long> previouslyWrittenIndices = previousManifest.getIndexGenerations();
         Set<Index> relevantIndices = getRelevantIndices(newState, previousState, previouslyWrittenIndices.keySet());
 
-        Map<Index, Long> newIndices = new HashMap<>();
-
         MetaData previousMetaData = incrementalWrite ? previousState.metaData() : null;
         Iterable<IndexMetaDataAction> actions = resolveIndexMetaDataActions(previouslyWrittenIndices, relevantIndices, previousMetaData,
                 newState.metaData());
 
-        for (IndexMetaDataAction action : actions) {
-            long generation = action.execute(writer);
-            newIndices.put(action.getIndex(), generation);
-        }
-
-        return newIndices;
+        return writer.writeIndices(actions, maxConcurrentIndexMetaDataWrites, indexMetaDataWriteExecutor);
     }
 
     private long writeGlobalState(AtomicClusterStateWriter writer, MetaData newMetaData)
@@ -577,6 +638,31 @@ public class GatewayMetaState implements PersistedState {
         long execute(AtomicClusterStateWriter writer) throws WriteStateException;
     }
 
+    /**
+     * Executes an {@link IndexMetaDataAction}, possibly concurrently with other actions, and records its outcome.
+     */
+    private static final class IndexMetaDataWrite implements Runnable {
+        private final IndexMetaDataAction action;
+        private final AtomicClusterStateWriter writer;
+
+        private long generation;
+        private WriteStateException failure;
+
+        IndexMetaDataWrite(IndexMetaDataAction action, AtomicClusterStateWriter writer) {
+            this.action = action;
+            this.writer = writer;
+        }
+
+        @Override
+        public void run() {
+            try {
+                generation = action.execute(writer);
+            } catch (WriteStateException e) {
+                failure = e;
+            }
+        }
+    }
+
     public static class KeepPreviousGeneration implements IndexMetaDataAction {
         private final Index index;
         private final long generation;
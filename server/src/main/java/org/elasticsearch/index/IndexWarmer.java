@@ -22,6 +22,7 @@ package org.elasticsearch.index;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.lucene.index.LeafReaderContext;
 import org.elasticsearch.common.lucene.index.ElasticsearchDirectoryReader;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.fielddata.IndexFieldData;
@@ -40,6 +41,7 @@ import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class IndexWarmer {
 
@@ -105,7 +107,8 @@ public final class IndexWarmer {
         TerminationHandle warmReader(IndexShard indexShard, ElasticsearchDirectoryReader reader);
     }
 
-    private static class FieldDataWarmer implements IndexWarmer.Listener {
+    // package-private for testing
+    static class FieldDataWarmer implements IndexWarmer.Listener {
 
         private final Executor executor;
         private final IndexFieldDataService indexFieldDataService;
@@ -128,7 +131,7 @@ public final class IndexWarmer {
             }
             final CountDownLatch latch = new CountDownLatch(warmUpGlobalOrdinals.size());
             for (final MappedFieldType fieldType : warmUpGlobalOrdinals.values()) {
-                executor.execute(() -> {
+                final Runnable warmGlobalOrdinals = () -> {
                     try {
                         final long start = System.nanoTime();
                         IndexFieldData.Global ifd = indexFieldDataService.getForField(fieldType);
@@ -151,7 +154,31 @@ public final class IndexWarmer {
                     } finally {
                         latch.countDown();
                     }
-                });
+                };
+                final List<LeafReaderContext> leaves = reader.leaves();
+                if (fieldType.hasDocValues() || leaves.size() <= 1) {
+                    executor.execute(warmGlobalOrdinals);
+                    continue;
+                }
+                // fielddata that is uninverted from the terms is cached per segment, so we load the segments in parallel
+                // and build the global ordinals from the cached segments once the last one is loaded. This matters most
+                // for the first reader of a shard after a restart or relocation, where none of the segments are loaded yet.
+                final AtomicInteger pendingLeaves = new AtomicInteger(leaves.size());
+                for (final LeafReaderContext ctx : leaves) {
+                    executor.execute(() -> {
+                        try {
+                            indexFieldDataService.getForField(fieldType).load(ctx);
+                        } catch (Exception e) {
+                            // building the global ordinals loads this segment again and reports the failure
+                            logger.debug(() -> new ParameterizedMessage("failed to warm-up fielddata for [{}] on segment [{}]",
+                                fieldType.name(), ctx.ord), e);
+                        } finally {
+                            if (pendingLeaves.decrementAndGet() == 0) {
+                                warmGlobalOrdinals.run();
+                            }
+                        }
+                    });
+                }
             }
             return () -> latch.await();
         }
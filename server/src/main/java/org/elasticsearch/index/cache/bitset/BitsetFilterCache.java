@@ -33,6 +33,8 @@ import org.apache.lucene.search.join.BitSetProducer;
 import org.apache.lucene.util.Accountable;
 import org.apache.lucene.util.BitDocIdSet;
 import org.apache.lucene.util.BitSet;
+import org.apache.lucene.util.FixedBitSet;
+import org.apache.lucene.util.MatchAllBitSet;
 import org.elasticsearch.ExceptionsHelper;
 import org.elasticsearch.common.cache.Cache;
 import org.elasticsearch.common.cache.CacheBuilder;
@@ -100,7 +102,14 @@ public final class BitsetFilterCache extends AbstractIndexComponent
         if (s == null) {
             return null;
         } else {
-            return BitSet.of(s.iterator(), context.reader().maxDoc());
+            final int maxDoc = context.reader().maxDoc();
+            final BitSet bitSet = BitSet.of(s.iterator(), maxDoc);
+            // filters often match every document of a segment, e.g. the parent filter of nested queries on segments without
+            // nested documents, in which case there is no need to keep a bit per document
+            if (bitSet instanceof FixedBitSet && bitSet.cardinality() == maxDoc) {
+                return new MatchAllBitSet(maxDoc);
+            }
+            return bitSet;
         }
     }
 
@@ -144,6 +144,13 @@ public abstract class Engine implements Closeable {
      */
     protected volatile long lastWriteNanos = System.nanoTime();
 
+    /*
+     * Doc and segment stats only change when new readers are opened, so they are computed once per reader and served from these caches
+     * until the next refresh rather than walking all segments on every stats request.
+     */
+    private volatile CachedReaderStats<DocsStats> cachedDocsStats;
+    private volatile CachedReaderStats<SegmentsStats> cachedSegmentsStats;
+
     protected Engine(EngineConfig engineConfig) {
         Objects.requireNonNull(engineConfig.getStore(), "Store must be provided to the engine");
 
@@ -219,10 +226,28 @@ public abstract class Engine implements Closeable {
         // when indexing but not refreshing in general. Yet, if a refresh happens the internal searcher is refresh as well so we are
         // safe here.
         try (Searcher searcher = acquireSearcher("docStats", SearcherScope.INTERNAL)) {
-           return docsStats(searcher.getIndexReader());
+            final IndexReader.CacheKey readerKey = readerCacheKey(searcher);
+            final CachedReaderStats<DocsStats> cached = cachedDocsStats;
+            final DocsStats docsStats;
+            if (cached != null && cached.matches(readerKey, null, false)) {
+                docsStats = cached.stats;
+            } else {
+                docsStats = docsStats(searcher.getIndexReader());
+                if (readerKey != null) {
+                    cachedDocsStats = new CachedReaderStats<>(readerKey, null, false, docsStats);
+                }
+            }
+            // callers may add other stats to the returned instance
+            return new DocsStats(docsStats.getCount(), docsStats.getDeleted(), docsStats.getTotalSizeInBytes());
         }
     }
 
+    @Nullable
+    private static IndexReader.CacheKey readerCacheKey(Searcher searcher) {
+        final IndexReader.CacheHelper cacheHelper = searcher.getIndexReader().getReaderCacheHelper();
+        return cacheHelper == null ? null : cacheHelper.getKey();
+    }
+
     protected final DocsStats docsStats(IndexReader indexReader) {
         long numDocs = 0;
         long numDeletedDocs = 0;
@@ -804,28 +829,66 @@ public abstract class Engine implements Closeable {
      */
     public SegmentsStats segmentsStats(boolean includeSegmentFileSizes, boolean includeUnloadedSegments) {
         ensureOpen();
-        Set<String> segmentName = new HashSet<>();
-        SegmentsStats stats = new SegmentsStats();
-        try (Searcher searcher = acquireSearcher("segments_stats", SearcherScope.INTERNAL)) {
-            for (LeafReaderContext ctx : searcher.getIndexReader().getContext().leaves()) {
-                SegmentReader segmentReader = Lucene.segmentReader(ctx.reader());
-                fillSegmentStats(segmentReader, includeSegmentFileSizes, stats);
-                segmentName.add(segmentReader.getSegmentName());
-            }
-        }
-
-        try (Searcher searcher = acquireSearcher("segments_stats", SearcherScope.EXTERNAL)) {
-            for (LeafReaderContext ctx : searcher.getIndexReader().getContext().leaves()) {
-                SegmentReader segmentReader = Lucene.segmentReader(ctx.reader());
-                if (segmentName.contains(segmentReader.getSegmentName()) == false) {
-                    fillSegmentStats(segmentReader, includeSegmentFileSizes, stats);
+        final SegmentsStats stats = new SegmentsStats();
+        try (Searcher internalSearcher = acquireSearcher("segments_stats", SearcherScope.INTERNAL);
+             Searcher externalSearcher = acquireSearcher("segments_stats", SearcherScope.EXTERNAL)) {
+            final IndexReader.CacheKey internalReaderKey = readerCacheKey(internalSearcher);
+            final IndexReader.CacheKey externalReaderKey = readerCacheKey(externalSearcher);
+            final CachedReaderStats<SegmentsStats> cached = cachedSegmentsStats;
+            if (cached != null && cached.matches(internalReaderKey, externalReaderKey, includeSegmentFileSizes)) {
+                stats.add(cached.stats);
+            } else {
+                final SegmentsStats readerStats = new SegmentsStats();
+                final Set<String> segmentName = new HashSet<>();
+                for (LeafReaderContext ctx : internalSearcher.getIndexReader().getContext().leaves()) {
+                    SegmentReader segmentReader = Lucene.segmentReader(ctx.reader());
+                    fillSegmentStats(segmentReader, includeSegmentFileSizes, readerStats);
+                    segmentName.add(segmentReader.getSegmentName());
+                }
+                for (LeafReaderContext ctx : externalSearcher.getIndexReader().getContext().leaves()) {
+                    SegmentReader segmentReader = Lucene.segmentReader(ctx.reader());
+                    if (segmentName.contains(segmentReader.getSegmentName()) == false) {
+                        fillSegmentStats(segmentReader, includeSegmentFileSizes, readerStats);
+                    }
                 }
+                if (internalReaderKey != null && externalReaderKey != null) {
+                    cachedSegmentsStats = new CachedReaderStats<>(internalReaderKey, externalReaderKey, includeSegmentFileSizes,
+                        readerStats);
+                }
+                stats.add(readerStats);
             }
         }
+        // the memory used by the index writer and the version map changes with every operation, it is never cached
         writerSegmentStats(stats);
         return stats;
     }
 
+    /**
+     * Stats computed from the segments of the internal and, optionally, the external reader, which are valid for as long as these
+     * readers are the current ones.
+     */
+    private static final class CachedReaderStats<T> {
+        private final IndexReader.CacheKey internalReaderKey;
+        @Nullable
+        private final IndexReader.CacheKey externalReaderKey;
+        private final boolean includeSegmentFileSizes;
+        private final T stats;
+
+        CachedReaderStats(IndexReader.CacheKey internalReaderKey, @Nullable IndexReader.CacheKey externalReaderKey,
+                          boolean includeSegmentFileSizes, T stats) {
+            this.internalReaderKey = internalReaderKey;
+            this.externalReaderKey = externalReaderKey;
+            this.includeSegmentFileSizes = includeSegmentFileSizes;
+            this.stats = stats;
+        }
+
+        boolean matches(@Nullable IndexReader.CacheKey internalReaderKey, @Nullable IndexReader.CacheKey externalReaderKey,
+                        boolean includeSegmentFileSizes) {
+            return internalReaderKey != null && this.internalReaderKey == internalReaderKey
+                && this.externalReaderKey == externalReaderKey && this.includeSegmentFileSizes == includeSegmentFileSizes;
+        }
+    }
+
     protected void fillSegmentStats(SegmentReader segmentReader, boolean includeSegmentFileSizes, SegmentsStats stats) {
         stats.add(1, segmentReader.ramBytesUsed());
         stats.addTermsMemoryInBytes(guardedRamBytesUsed(segmentReader.getPostingsReader()));
@@ -22,23 +22,40 @@ import org.apache.lucene.index.SortedSetDocValues;
 import org.apache.lucene.util.Accountable;
 import org.apache.lucene.util.Accountables;
 import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefBuilder;
 import org.apache.lucene.util.PagedBytes;
 import org.apache.lucene.util.packed.PackedLongValues;
 import org.elasticsearch.index.fielddata.ordinals.Ordinals;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Collection;
 import java.util.List;
 
+/**
+ * Ordinals field data that keeps its terms front-coded in {@link PagedBytes}: terms are written in blocks of
+ * {@code 1 << TERMS_BLOCK_SHIFT} terms, where the first term of a block is written in full and every other term only
+ * writes the suffix that differs from the previous term. Only the offset of each block is kept, so that looking up a
+ * term decodes the terms of its block up to it. Sequential lookups within a block continue from the previous term.
+ */
 public class PagedBytesAtomicFieldData extends AbstractAtomicOrdinalsFieldData {
 
-    private final PagedBytes.Reader bytes;
-    private final PackedLongValues termOrdToBytesOffset;
+    static final int TERMS_BLOCK_SHIFT = 4;
+    static final long TERMS_BLOCK_MASK = (1L << TERMS_BLOCK_SHIFT) - 1;
+
+    private final PagedBytes bytes;
+    private final PackedLongValues termBlockToBytesOffset;
     protected final Ordinals ordinals;
 
-    public PagedBytesAtomicFieldData(PagedBytes.Reader bytes, PackedLongValues termOrdToBytesOffset, Ordinals ordinals) {
+    /**
+     * @param bytes                  the frozen, front-coded terms
+     * @param termBlockToBytesOffset the offset of the first term of each block of terms
+     * @param ordinals               the ordinals of the documents
+     */
+    public PagedBytesAtomicFieldData(PagedBytes bytes, PackedLongValues termBlockToBytesOffset, Ordinals ordinals) {
         super(DEFAULT_SCRIPT_FUNCTION);
         this.bytes = bytes;
-        this.termOrdToBytesOffset = termOrdToBytesOffset;
+        this.termBlockToBytesOffset = termBlockToBytesOffset;
         this.ordinals = ordinals;
     }
 
@@ -52,7 +69,7 @@ public class PagedBytesAtomicFieldData extends AbstractAtomicOrdinalsFieldData {
         // PackedBytes
         size += bytes.ramBytesUsed();
         // PackedInts
-        size += termOrdToBytesOffset.ramBytesUsed();
+        size += termBlockToBytesOffset.ramBytesUsed();
         return size;
     }
 
@@ -61,32 +78,59 @@ public class PagedBytesAtomicFieldData extends AbstractAtomicOrdinalsFieldData {
         return List.of(
                 Accountables.namedAccountable("ordinals", ordinals),
                 Accountables.namedAccountable("term bytes", bytes),
-                Accountables.namedAccountable("term offsets", termOrdToBytesOffset));
+                Accountables.namedAccountable("term offsets", termBlockToBytesOffset));
     }
 
     @Override
     public SortedSetDocValues getOrdinalsValues() {
-        return ordinals.ordinals(new ValuesHolder(bytes, termOrdToBytesOffset));
+        return ordinals.ordinals(new ValuesHolder(bytes.getDataInput(), termBlockToBytesOffset));
     }
 
     private static class ValuesHolder implements Ordinals.ValuesHolder {
 
         private final BytesRef scratch = new BytesRef();
-        private final PagedBytes.Reader bytes;
-        private final PackedLongValues termOrdToBytesOffset;
+        private final BytesRefBuilder term = new BytesRefBuilder();
+        private final PagedBytes.PagedBytesDataInput bytes;
+        private final PackedLongValues termBlockToBytesOffset;
+        /** The ordinal of the term that was decoded last, -1 if none */
+        private long currentOrd = -1;
 
-        ValuesHolder(PagedBytes.Reader bytes, PackedLongValues termOrdToBytesOffset) {
+        ValuesHolder(PagedBytes.PagedBytesDataInput bytes, PackedLongValues termBlockToBytesOffset) {
             this.bytes = bytes;
-            this.termOrdToBytesOffset = termOrdToBytesOffset;
+            this.termBlockToBytesOffset = termBlockToBytesOffset;
         }
 
         @Override
         public BytesRef lookupOrd(long ord) {
             assert ord >= 0;
-            bytes.fill(scratch, termOrdToBytesOffset.get(ord));
+            try {
+                if (currentOrd < 0 || ord < currentOrd || (ord >>> TERMS_BLOCK_SHIFT) != (currentOrd >>> TERMS_BLOCK_SHIFT)) {
+                    // start over from the first term of the block
+                    final long block = ord >>> TERMS_BLOCK_SHIFT;
+                    bytes.setPosition(termBlockToBytesOffset.get(block));
+                    readSuffix(0);
+                    currentOrd = block << TERMS_BLOCK_SHIFT;
+                }
+                while (currentOrd < ord) {
+                    readSuffix(bytes.readVInt());
+                    currentOrd++;
+                }
+            } catch (IOException e) {
+                // reading from memory can't fail
+                throw new UncheckedIOException(e);
+            }
+            scratch.bytes = term.bytes();
+            scratch.offset = 0;
+            scratch.length = term.length();
             return scratch;
         }
 
+        private void readSuffix(int prefixLength) throws IOException {
+            final int suffixLength = bytes.readVInt();
+            term.grow(prefixLength + suffixLength);
+            bytes.readBytes(term.bytes(), prefixLength, suffixLength);
+            term.setLength(prefixLength + suffixLength);
+        }
     }
 
 }
@@ -28,7 +28,9 @@ import org.apache.lucene.index.TermsEnum;
 import org.apache.lucene.search.DocIdSetIterator;
 import org.apache.lucene.search.SortField;
 import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.BytesRefBuilder;
 import org.apache.lucene.util.PagedBytes;
+import org.apache.lucene.util.StringHelper;
 import org.apache.lucene.util.packed.PackedInts;
 import org.apache.lucene.util.packed.PackedLongValues;
 import org.elasticsearch.common.Nullable;
@@ -99,8 +101,10 @@ public class PagedBytesIndexFieldData extends AbstractIndexOrdinalsFieldData {
         }
 
         final PagedBytes bytes = new PagedBytes(15);
+        final PagedBytes.PagedBytesDataOutput termBytes = bytes.getDataOutput();
+        final BytesRefBuilder previousTerm = new BytesRefBuilder();
 
-        final PackedLongValues.Builder termOrdToBytesOffset = PackedLongValues.monotonicBuilder(PackedInts.COMPACT);
+        final PackedLongValues.Builder termBlockToBytesOffset = PackedLongValues.monotonicBuilder(PackedInts.COMPACT);
         final float acceptableTransientOverheadRatio = OrdinalsBuilder.DEFAULT_ACCEPTABLE_OVERHEAD_RATIO;
 
         // Wrap the context in an estimator and use it to either estimate
@@ -114,17 +118,28 @@ public class PagedBytesIndexFieldData extends AbstractIndexOrdinalsFieldData {
             PostingsEnum docsEnum = null;
             for (BytesRef term = termsEnum.next(); term != null; term = termsEnum.next()) {
                 final long termOrd = builder.nextOrdinal();
-                assert termOrd == termOrdToBytesOffset.size();
-                termOrdToBytesOffset.add(bytes.copyUsingLengthPrefix(term));
+                // front-code terms, see PagedBytesAtomicFieldData
+                if ((termOrd & PagedBytesAtomicFieldData.TERMS_BLOCK_MASK) == 0) {
+                    assert termOrd >>> PagedBytesAtomicFieldData.TERMS_BLOCK_SHIFT == termBlockToBytesOffset.size();
+                    termBlockToBytesOffset.add(termBytes.getPosition());
+                    termBytes.writeVInt(term.length);
+                    termBytes.writeBytes(term.bytes, term.offset, term.length);
+                } else {
+                    final int prefixLength = StringHelper.bytesDifference(previousTerm.get(), term);
+                    termBytes.writeVInt(prefixLength);
+                    termBytes.writeVInt(term.length - prefixLength);
+                    termBytes.writeBytes(term.bytes, term.offset + prefixLength, term.length - prefixLength);
+                }
+                previousTerm.copyBytes(term);
                 docsEnum = termsEnum.postings(docsEnum, PostingsEnum.NONE);
                 for (int docId = docsEnum.nextDoc(); docId != DocIdSetIterator.NO_MORE_DOCS; docId = docsEnum.nextDoc()) {
                     builder.addDoc(docId);
                 }
             }
-            PagedBytes.Reader bytesReader = bytes.freeze(true);
+            bytes.freeze(true);
             final Ordinals ordinals = builder.build();
 
-            data = new PagedBytesAtomicFieldData(bytesReader, termOrdToBytesOffset.build(), ordinals);
+            data = new PagedBytesAtomicFieldData(bytes, termBlockToBytesOffset.build(), ordinals);
             success = true;
             return data;
         } finally {
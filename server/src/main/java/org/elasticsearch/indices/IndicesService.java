@@ -330,6 +330,7 @@ public class IndicesService extends AbstractLifecycleComponent
     }
 
     public NodeIndicesStats stats(CommonStatsFlags flags) {
+        final long startTimeNanos = System.nanoTime();
         CommonStats commonStats = new CommonStats(flags);
         // the cumulative statistics also account for shards that are no longer on this node, which is tracked by oldShardsStats
         for (Flag flag : flags.getFlags()) {
@@ -358,7 +359,9 @@ public class IndicesService extends AbstractLifecycleComponent
             }
         }
 
-        return new NodeIndicesStats(commonStats, statsByShard(this, flags));
+        final NodeIndicesStats nodeIndicesStats = new NodeIndicesStats(commonStats, statsByShard(this, flags));
+        logger.debug("took [{}] to collect indices stats", TimeValue.timeValueNanos(System.nanoTime() - startTimeNanos));
+        return nodeIndicesStats;
     }
 
     Map<Index, List<IndexShardStats>> statsByShard(final IndicesService indicesService, final CommonStatsFlags flags) {
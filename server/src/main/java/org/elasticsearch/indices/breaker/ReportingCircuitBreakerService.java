@@ -0,0 +1,130 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.indices.breaker;
+
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.breaker.CircuitBreakingException;
+
+import java.util.function.LongConsumer;
+
+/**
+ * A view of a {@link CircuitBreakerService} that reports every change to the bytes accounted on one of its breakers to a
+ * consumer, so that the memory a request reserves can be attributed to it. The breakers themselves are those of the
+ * wrapped service.
+ */
+public class ReportingCircuitBreakerService extends CircuitBreakerService {
+
+    private final CircuitBreakerService delegate;
+    private final CircuitBreaker reportingBreaker;
+
+    public ReportingCircuitBreakerService(CircuitBreakerService delegate, String breakerName, LongConsumer onBytesAccounted) {
+        this.delegate = delegate;
+        this.reportingBreaker = new ReportingCircuitBreaker(delegate, breakerName, onBytesAccounted);
+    }
+
+    @Override
+    public void registerBreaker(BreakerSettings breakerSettings) {
+        delegate.registerBreaker(breakerSettings);
+    }
+
+    @Override
+    public CircuitBreaker getBreaker(String name) {
+        if (reportingBreaker.getName().equals(name)) {
+            return reportingBreaker;
+        }
+        return delegate.getBreaker(name);
+    }
+
+    @Override
+    public AllCircuitBreakerStats stats() {
+        return delegate.stats();
+    }
+
+    @Override
+    public CircuitBreakerStats stats(String name) {
+        return delegate.stats(name);
+    }
+
+    private static class ReportingCircuitBreaker implements CircuitBreaker {
+
+        private final CircuitBreakerService service;
+        private final String name;
+        private final LongConsumer onBytesAccounted;
+
+        ReportingCircuitBreaker(CircuitBreakerService service, String name, LongConsumer onBytesAccounted) {
+            this.service = service;
+            this.name = name;
+            this.onBytesAccounted = onBytesAccounted;
+        }
+
+        // breakers may be replaced when their settings are updated, so always resolve the current one
+        private CircuitBreaker breaker() {
+            return service.getBreaker(name);
+        }
+
+        @Override
+        public void circuitBreak(String fieldName, long bytesNeeded) {
+            breaker().circuitBreak(fieldName, bytesNeeded);
+        }
+
+        @Override
+        public double addEstimateBytesAndMaybeBreak(long bytes, String label) throws CircuitBreakingException {
+            final double used = breaker().addEstimateBytesAndMaybeBreak(bytes, label);
+            onBytesAccounted.accept(bytes);
+            return used;
+        }
+
+        @Override
+        public long addWithoutBreaking(long bytes) {
+            final long used = breaker().addWithoutBreaking(bytes);
+            onBytesAccounted.accept(bytes);
+            return used;
+        }
+
+        @Override
+        public long getUsed() {
+            return breaker().getUsed();
+        }
+
+        @Override
+        public long getLimit() {
+            return breaker().getLimit();
+        }
+
+        @Override
+        public double getOverhead() {
+            return breaker().getOverhead();
+        }
+
+        @Override
+        public long getTrippedCount() {
+            return breaker().getTrippedCount();
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Durability getDurability() {
+            return breaker().getDurability();
+        }
+    }
+}
@@ -43,12 +43,17 @@ import org.elasticsearch.cluster.routing.RoutingTable;
 import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.Nullable;
+import org.elasticsearch.common.StopWatch;
 import org.elasticsearch.common.component.AbstractLifecycleComponent;
 import org.elasticsearch.common.inject.Inject;
+import org.elasticsearch.common.lease.Releasable;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.common.util.concurrent.AbstractRunnable;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.env.ShardLockObtainFailedException;
 import org.elasticsearch.gateway.GatewayService;
@@ -96,6 +101,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static org.elasticsearch.indices.cluster.IndicesClusterStateService.AllocatedIndices.IndexRemovalReason.CLOSED;
 import static org.elasticsearch.indices.cluster.IndicesClusterStateService.AllocatedIndices.IndexRemovalReason.DELETED;
@@ -106,6 +112,14 @@ import static org.elasticsearch.indices.cluster.IndicesClusterStateService.Alloc
 public class IndicesClusterStateService extends AbstractLifecycleComponent implements ClusterStateApplier, RetentionLeaseSyncer {
     private static final Logger logger = LogManager.getLogger(IndicesClusterStateService.class);
 
+    /**
+     * The maximum number of threads, including the cluster applier thread, that apply mapping updates of different indices concurrently.
+     */
+    public static final Setting<Integer> INDICES_CLUSTER_MAX_CONCURRENT_MAPPING_UPDATES_SETTING =
+        new Setting<>("indices.cluster.max_concurrent_mapping_updates",
+            (s) -> Integer.toString(Math.min(4, EsExecutors.numberOfProcessors(s))),
+            (s) -> Setting.parseInt(s, 1, "indices.cluster.max_concurrent_mapping_updates"), Property.NodeScope);
+
     final AllocatedIndices<? extends Shard, ? extends AllocatedIndex<? extends Shard>> indicesService;
     private final ClusterService clusterService;
     private final ThreadPool threadPool;
@@ -124,6 +138,7 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
     private final FailedShardHandler failedShardHandler = new FailedShardHandler();
 
     private final boolean sendRefreshMapping;
+    private final int maxConcurrentMappingUpdates;
     private final List<IndexEventListener> buildInIndexListener;
     private final PrimaryReplicaSyncer primaryReplicaSyncer;
     private final NodeClient client;
@@ -194,6 +209,7 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
         this.repositoriesService = repositoriesService;
         this.primaryReplicaSyncer = primaryReplicaSyncer;
         this.sendRefreshMapping = settings.getAsBoolean("indices.cluster.send_refresh_mapping", true);
+        this.maxConcurrentMappingUpdates = INDICES_CLUSTER_MAX_CONCURRENT_MAPPING_UPDATES_SETTING.get(settings);
         this.client = client;
     }
 
@@ -235,21 +251,45 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
             return;
         }
 
-        updateFailedShardsCache(state);
+        final StopWatch stopWatch = new StopWatch();
 
-        deleteIndices(event); // also deletes shards of deleted indices
+        try (Releasable ignored = stopWatch.timing("updating failed shards cache")) {
+            updateFailedShardsCache(state);
+        }
+
+        try (Releasable ignored = stopWatch.timing("deleting indices")) {
+            deleteIndices(event); // also deletes shards of deleted indices
+        }
 
-        removeIndices(event); // also removes shards of removed indices
+        try (Releasable ignored = stopWatch.timing("removing indices")) {
+            removeIndices(event); // also removes shards of removed indices
+        }
 
-        failMissingShards(state);
+        try (Releasable ignored = stopWatch.timing("failing missing shards")) {
+            failMissingShards(state);
+        }
 
-        removeShards(state);   // removes any local shards that doesn't match what the master expects
+        try (Releasable ignored = stopWatch.timing("removing shards")) {
+            removeShards(state);   // removes any local shards that doesn't match what the master expects
+        }
 
-        updateIndices(event); // can also fail shards, but these are then guaranteed to be in failedShardsCache
+        try (Releasable ignored = stopWatch.timing("updating indices")) {
+            updateIndices(event); // can also fail shards, but these are then guaranteed to be in failedShardsCache
+        }
 
-        createIndices(state);
+        try (Releasable ignored = stopWatch.timing("creating indices")) {
+            createIndices(state);
+        }
 
-        createOrUpdateShards(state);
+        try (Releasable ignored = stopWatch.timing("creating or updating shards")) {
+            createOrUpdateShards(state);
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("applied cluster state version [{}] in [{}]: {}", state.version(), stopWatch.totalTime(),
+                Arrays.stream(stopWatch.taskInfo())
+                    .map(ti -> '[' + ti.getTaskName() + "] took [" + ti.getTime().millis() + "ms]").collect(Collectors.joining(", ")));
+        }
     }
 
     /**
@@ -546,30 +586,33 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
             }
         }
 
+        // index services are created one at a time, but their mappings, which are expensive to merge, are applied concurrently
+        final List<MappingUpdate> mappingUpdates = new ArrayList<>(indicesToCreate.size());
         for (Map.Entry<Index, List<ShardRouting>> entry : indicesToCreate.entrySet()) {
             final Index index = entry.getKey();
             final IndexMetaData indexMetaData = state.metaData().index(index);
             logger.debug("[{}] creating index", index);
 
-            AllocatedIndex<? extends Shard> indexService = null;
             try {
-                indexService = indicesService.createIndex(indexMetaData, buildInIndexListener);
-                if (indexService.updateMapping(null, indexMetaData) && sendRefreshMapping) {
-                    nodeMappingRefreshAction.nodeMappingRefresh(state.nodes().getMasterNode(),
-                        new NodeMappingRefreshAction.NodeMappingRefreshRequest(indexMetaData.getIndex().getName(),
-                            indexMetaData.getIndexUUID(), state.nodes().getLocalNodeId())
-                    );
-                }
+                final AllocatedIndex<? extends Shard> indexService = indicesService.createIndex(indexMetaData, buildInIndexListener);
+                mappingUpdates.add(new MappingUpdate(indexService, null, indexMetaData));
             } catch (Exception e) {
-                final String failShardReason;
-                if (indexService == null) {
-                    failShardReason = "failed to create index";
-                } else {
-                    failShardReason = "failed to update mapping for index";
-                    indicesService.removeIndex(index, FAILURE, "removing index (mapping update failed)");
-                }
                 for (ShardRouting shardRouting : entry.getValue()) {
-                    sendFailShard(shardRouting, failShardReason, e, state);
+                    sendFailShard(shardRouting, "failed to create index", e, state);
+                }
+            }
+        }
+
+        applyMappingUpdates(mappingUpdates);
+
+        for (MappingUpdate mappingUpdate : mappingUpdates) {
+            final Index index = mappingUpdate.indexService.index();
+            if (mappingUpdate.failure == null) {
+                sendRefreshMappingIfNeeded(mappingUpdate, state);
+            } else {
+                indicesService.removeIndex(index, FAILURE, "removing index (mapping update failed)");
+                for (ShardRouting shardRouting : indicesToCreate.get(index)) {
+                    sendFailShard(shardRouting, "failed to update mapping for index", mappingUpdate.failure, state);
                 }
             }
         }
@@ -580,6 +623,8 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
             return;
         }
         final ClusterState state = event.state();
+        // metadata updates notify listeners and are applied one at a time, the mapping updates that follow them are applied concurrently
+        final List<MappingUpdate> mappingUpdates = new ArrayList<>();
         for (AllocatedIndex<? extends Shard> indexService : indicesService) {
             final Index index = indexService.index();
             final IndexMetaData currentIndexMetaData = indexService.getIndexSettings().getIndexMetaData();
@@ -587,23 +632,25 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
             assert newIndexMetaData != null : "index " + index + " should have been removed by deleteIndices";
             if (ClusterChangedEvent.indexMetaDataChanged(currentIndexMetaData, newIndexMetaData)) {
                 indexService.updateMetaData(currentIndexMetaData, newIndexMetaData);
-                try {
-                    if (indexService.updateMapping(currentIndexMetaData, newIndexMetaData) && sendRefreshMapping) {
-                        nodeMappingRefreshAction.nodeMappingRefresh(state.nodes().getMasterNode(),
-                            new NodeMappingRefreshAction.NodeMappingRefreshRequest(newIndexMetaData.getIndex().getName(),
-                                newIndexMetaData.getIndexUUID(), state.nodes().getLocalNodeId())
-                        );
-                    }
-                } catch (Exception e) {
-                    indicesService.removeIndex(indexService.index(), FAILURE, "removing index (mapping update failed)");
-
-                    // fail shards that would be created or updated by createOrUpdateShards
-                    RoutingNode localRoutingNode = state.getRoutingNodes().node(state.nodes().getLocalNodeId());
-                    if (localRoutingNode != null) {
-                        for (final ShardRouting shardRouting : localRoutingNode) {
-                            if (shardRouting.index().equals(index) && failedShardsCache.containsKey(shardRouting.shardId()) == false) {
-                                sendFailShard(shardRouting, "failed to update mapping for index", e, state);
-                            }
+                mappingUpdates.add(new MappingUpdate(indexService, currentIndexMetaData, newIndexMetaData));
+            }
+        }
+
+        applyMappingUpdates(mappingUpdates);
+
+        for (MappingUpdate mappingUpdate : mappingUpdates) {
+            if (mappingUpdate.failure == null) {
+                sendRefreshMappingIfNeeded(mappingUpdate, state);
+            } else {
+                final Index index = mappingUpdate.indexService.index();
+                indicesService.removeIndex(index, FAILURE, "removing index (mapping update failed)");
+
+                // fail shards that would be created or updated by createOrUpdateShards
+                RoutingNode localRoutingNode = state.getRoutingNodes().node(state.nodes().getLocalNodeId());
+                if (localRoutingNode != null) {
+                    for (final ShardRouting shardRouting : localRoutingNode) {
+                        if (shardRouting.index().equals(index) && failedShardsCache.containsKey(shardRouting.shardId()) == false) {
+                            sendFailShard(shardRouting, "failed to update mapping for index", mappingUpdate.failure, state);
                         }
                     }
                 }
@@ -611,6 +658,49 @@ public class IndicesClusterStateService extends AbstractLifecycleComponent imple
         }
     }
 
+    private void sendRefreshMappingIfNeeded(MappingUpdate mappingUpdate, ClusterState state) {
+        if (mappingUpdate.requiresRefresh && sendRefreshMapping) {
+            nodeMappingRefreshAction.nodeMappingRefresh(state.nodes().getMasterNode(),
+                new NodeMappingRefreshAction.NodeMappingRefreshRequest(mappingUpdate.newIndexMetaData.getIndex().getName(),
+                    mappingUpdate.newIndexMetaData.getIndexUUID(), state.nodes().getLocalNodeId())
+            );
+        }
+    }
+
+    private void applyMappingUpdates(List<MappingUpdate> mappingUpdates) {
+        EsExecutors.runConcurrently(mappingUpdates, maxConcurrentMappingUpdates, threadPool.generic());
+    }
+
+    /**
+     * Applies the mapping of an index, which can be done concurrently with the mappings of other indices. The outcome is
+     * recorded so that it can be acted upon on the cluster applier thread.
+     */
+    private static final class MappingUpdate implements Runnable {
+        private final AllocatedIndex<? extends Shard> indexService;
+        @Nullable
+        private final IndexMetaData currentIndexMetaData;
+        private final IndexMetaData newIndexMetaData;
+
+        private boolean requiresRefresh;
+        private Exception failure;
+
+        MappingUpdate(AllocatedIndex<? extends Shard> indexService, @Nullable IndexMetaData currentIndexMetaData,
+                      IndexMetaData newIndexMetaData) {
+            this.indexService = indexService;
+            this.currentIndexMetaData = currentIndexMetaData;
+            this.newIndexMetaData = newIndexMetaData;
+        }
+
+        @Override
+        public void run() {
+            try {
+                requiresRefresh = indexService.updateMapping(currentIndexMetaData, newIndexMetaData);
+            } catch (Exception e) {
+                failure = e;
+            }
+        }
+    }
+
     private void createOrUpdateShards(final ClusterState state) {
         RoutingNode localRoutingNode = state.getRoutingNodes().node(state.nodes().getLocalNodeId());
         if (localRoutingNode == null) {
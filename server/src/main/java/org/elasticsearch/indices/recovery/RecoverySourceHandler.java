@@ -861,6 +861,7 @@ public class RecoverySourceHandler {
         final MultiFileTransfer<FileChunk> multiFileSender =
             new MultiFileTransfer<>(logger, threadPool.getThreadContext(), listener, maxConcurrentFileChunks, Arrays.asList(files)) {
 
+                // reused for every chunk: the chunk is serialized when it is sent, before the next one is read into the buffer
                 final byte[] buffer = new byte[chunkSizeInBytes];
                 InputStreamIndexInput currentInput = null;
                 long offset = 0;
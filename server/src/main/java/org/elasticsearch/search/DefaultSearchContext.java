@@ -29,6 +29,7 @@ import org.elasticsearch.action.search.SearchTask;
 import org.elasticsearch.action.search.SearchType;
 import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.Nullable;
+import org.elasticsearch.common.breaker.CircuitBreaker;
 import org.elasticsearch.common.lease.Releasables;
 import org.elasticsearch.common.lucene.search.Queries;
 import org.elasticsearch.common.lucene.search.function.FunctionScoreQuery;
@@ -51,6 +52,7 @@ import org.elasticsearch.index.query.QueryShardContext;
 import org.elasticsearch.index.search.NestedHelper;
 import org.elasticsearch.index.shard.IndexShard;
 import org.elasticsearch.index.similarity.SimilarityService;
+import org.elasticsearch.indices.breaker.ReportingCircuitBreakerService;
 import org.elasticsearch.search.aggregations.SearchContextAggregations;
 import org.elasticsearch.search.collapse.CollapseContext;
 import org.elasticsearch.search.dfs.DfsSearchResult;
@@ -80,6 +82,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.LongSupplier;
 
 final class DefaultSearchContext extends SearchContext {
@@ -124,6 +127,7 @@ final class DefaultSearchContext extends SearchContext {
     // filter for sliced scroll
     private SliceBuilder sliceBuilder;
     private SearchTask task;
+    private final AtomicLong reservedMemory = new AtomicLong();
     private final Version minNodeVersion;
 
 
@@ -167,8 +171,15 @@ final class DefaultSearchContext extends SearchContext {
         this.searchType = request.searchType();
         this.shardTarget = shardTarget;
         this.engineSearcher = engineSearcher;
-        // SearchContexts use a BigArrays that can circuit break
-        this.bigArrays = bigArrays.withCircuitBreaking();
+        // SearchContexts use a BigArrays that can circuit break, and keep track of what they reserve on the request breaker so
+        // that it can be reported for the task they execute
+        final BigArrays circuitBreakingBigArrays = bigArrays.withCircuitBreaking();
+        if (circuitBreakingBigArrays.breakerService() != null) {
+            this.bigArrays = circuitBreakingBigArrays.withBreakerService(new ReportingCircuitBreakerService(
+                circuitBreakingBigArrays.breakerService(), CircuitBreaker.REQUEST, reservedMemory::addAndGet));
+        } else {
+            this.bigArrays = circuitBreakingBigArrays;
+        }
         this.dfsResult = new DfsSearchResult(id, shardTarget);
         this.queryResult = new QuerySearchResult(id, shardTarget);
         this.fetchResult = new FetchSearchResult(id, shardTarget);
@@ -823,6 +834,9 @@ final class DefaultSearchContext extends SearchContext {
     @Override
     public void setTask(SearchTask task) {
         this.task = task;
+        if (task != null) {
+            task.setReservedMemory(reservedMemory::get);
+        }
     }
 
     @Override
@@ -0,0 +1,288 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.search.aggregations.bucket;
+
+import org.elasticsearch.common.lease.Releasable;
+import org.elasticsearch.common.lease.Releasables;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.common.util.LongArray;
+import org.elasticsearch.common.util.LongHash;
+import org.elasticsearch.common.util.LongLongHash;
+
+/**
+ * Maps pairs of owning bucket ordinal and long keys to dense bucket ordinals, so that bucket aggregators that are collected
+ * from many owning buckets can share a single hash table and a single set of sub-aggregators instead of being wrapped in a
+ * {@code AggregatorFactory#asMultiBucketAggregator} that creates a new aggregator per owning bucket.
+ */
+public abstract class LongKeyedBucketOrds implements Releasable {
+
+    /**
+     * Build a {@link LongKeyedBucketOrds} for an aggregator that is collected from a single bucket or from many buckets.
+     */
+    public static LongKeyedBucketOrds build(BigArrays bigArrays, boolean collectsFromSingleBucket) {
+        return collectsFromSingleBucket ? new FromSingle(bigArrays) : new FromMany(bigArrays);
+    }
+
+    private LongKeyedBucketOrds() {}
+
+    /**
+     * Add the {@code owningBucketOrd, value} pair. Return the ord of its bucket if it was newly added or {@code -1 - ord} if it
+     * was already present.
+     */
+    public abstract long add(long owningBucketOrd, long value);
+
+    /**
+     * Find the ord of the bucket of the {@code owningBucketOrd, value} pair or -1 if it wasn't added.
+     */
+    public abstract long find(long owningBucketOrd, long value);
+
+    /**
+     * The number of buckets that were added for the given owning bucket ordinal.
+     */
+    public abstract long bucketsInOrd(long owningBucketOrd);
+
+    /**
+     * The number of buckets that were added for all owning bucket ordinals.
+     */
+    public abstract long size();
+
+    /**
+     * Iterate over the buckets of the given owning bucket ordinal, in the order they were added.
+     */
+    public abstract BucketOrdsEnum ordsEnum(long owningBucketOrd);
+
+    /**
+     * An iterator over buckets.
+     */
+    public interface BucketOrdsEnum {
+        /**
+         * Advance to the next bucket, returns false if there are no more buckets.
+         */
+        boolean next();
+
+        /**
+         * The ordinal of the current bucket.
+         */
+        long ord();
+
+        /**
+         * The key of the current bucket.
+         */
+        long value();
+
+        BucketOrdsEnum EMPTY = new BucketOrdsEnum() {
+            @Override
+            public boolean next() {
+                return false;
+            }
+
+            @Override
+            public long ord() {
+                throw new IllegalStateException("no current bucket");
+            }
+
+            @Override
+            public long value() {
+                throw new IllegalStateException("no current bucket");
+            }
+        };
+    }
+
+    /**
+     * Implementation that only works if the owning bucket ordinal is always 0.
+     */
+    private static class FromSingle extends LongKeyedBucketOrds {
+        private final LongHash ords;
+
+        FromSingle(BigArrays bigArrays) {
+            ords = new LongHash(1, bigArrays);
+        }
+
+        @Override
+        public long add(long owningBucketOrd, long value) {
+            assert owningBucketOrd == 0;
+            return ords.add(value);
+        }
+
+        @Override
+        public long find(long owningBucketOrd, long value) {
+            assert owningBucketOrd == 0;
+            return ords.find(value);
+        }
+
+        @Override
+        public long bucketsInOrd(long owningBucketOrd) {
+            assert owningBucketOrd == 0;
+            return ords.size();
+        }
+
+        @Override
+        public long size() {
+            return ords.size();
+        }
+
+        @Override
+        public BucketOrdsEnum ordsEnum(long owningBucketOrd) {
+            assert owningBucketOrd == 0;
+            return new BucketOrdsEnum() {
+                private long ord = -1;
+
+                @Override
+                public boolean next() {
+                    ord++;
+                    return ord < ords.size();
+                }
+
+                @Override
+                public long ord() {
+                    return ord;
+                }
+
+                @Override
+                public long value() {
+                    return ords.get(ord);
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            ords.close();
+        }
+    }
+
+    /**
+     * Implementation that works for any owning bucket ordinal. Iterating over the buckets of an owning bucket ordinal groups the
+     * bucket ordinals by owning bucket ordinal first, once for all owning bucket ordinals, instead of scanning all buckets for
+     * each owning bucket ordinal.
+     */
+    private static class FromMany extends LongKeyedBucketOrds {
+        private final BigArrays bigArrays;
+        private final LongLongHash ords;
+        /** The number of buckets per owning bucket ordinal */
+        private LongArray bucketCounts;
+        private long maxOwningBucketOrd = -1;
+
+        /** The bucket ordinals, grouped by owning bucket ordinal, only valid if {@link #groupedSize} is the current size */
+        private LongArray groupedOrds;
+        /** The index in {@link #groupedOrds} of the first bucket of each owning bucket ordinal */
+        private LongArray groupStarts;
+        private long groupedSize = -1;
+
+        FromMany(BigArrays bigArrays) {
+            this.bigArrays = bigArrays;
+            ords = new LongLongHash(2, bigArrays);
+            bucketCounts = bigArrays.newLongArray(1, true);
+        }
+
+        @Override
+        public long add(long owningBucketOrd, long value) {
+            final long ord = ords.add(owningBucketOrd, value);
+            if (ord >= 0) {
+                bucketCounts = bigArrays.grow(bucketCounts, owningBucketOrd + 1);
+                bucketCounts.increment(owningBucketOrd, 1);
+                maxOwningBucketOrd = Math.max(maxOwningBucketOrd, owningBucketOrd);
+            }
+            return ord;
+        }
+
+        @Override
+        public long find(long owningBucketOrd, long value) {
+            return ords.find(owningBucketOrd, value);
+        }
+
+        @Override
+        public long bucketsInOrd(long owningBucketOrd) {
+            return owningBucketOrd <= maxOwningBucketOrd ? bucketCounts.get(owningBucketOrd) : 0;
+        }
+
+        @Override
+        public long size() {
+            return ords.size();
+        }
+
+        @Override
+        public BucketOrdsEnum ordsEnum(long owningBucketOrd) {
+            if (bucketsInOrd(owningBucketOrd) == 0) {
+                return BucketOrdsEnum.EMPTY;
+            }
+            if (groupedSize != ords.size()) {
+                group();
+            }
+            final long start = groupStarts.get(owningBucketOrd);
+            final long end = start + bucketCounts.get(owningBucketOrd);
+            return new BucketOrdsEnum() {
+                private long index = start - 1;
+                private long ord;
+
+                @Override
+                public boolean next() {
+                    index++;
+                    if (index >= end) {
+                        return false;
+                    }
+                    ord = groupedOrds.get(index);
+                    return true;
+                }
+
+                @Override
+                public long ord() {
+                    return ord;
+                }
+
+                @Override
+                public long value() {
+                    return ords.getKey2(ord);
+                }
+            };
+        }
+
+        /**
+         * Counting sort of the bucket ordinals by owning bucket ordinal.
+         */
+        private void group() {
+            Releasables.close(groupedOrds, groupStarts);
+            groupedOrds = null;
+            groupStarts = null;
+            groupStarts = bigArrays.newLongArray(maxOwningBucketOrd + 1, false);
+            long start = 0;
+            for (long owningBucketOrd = 0; owningBucketOrd <= maxOwningBucketOrd; owningBucketOrd++) {
+                groupStarts.set(owningBucketOrd, start);
+                start += bucketCounts.get(owningBucketOrd);
+            }
+            groupedOrds = bigArrays.newLongArray(ords.size(), false);
+            try (LongArray next = bigArrays.newLongArray(maxOwningBucketOrd + 1, false)) {
+                for (long owningBucketOrd = 0; owningBucketOrd <= maxOwningBucketOrd; owningBucketOrd++) {
+                    next.set(owningBucketOrd, groupStarts.get(owningBucketOrd));
+                }
+                for (long ord = 0; ord < ords.size(); ord++) {
+                    final long owningBucketOrd = ords.getKey1(ord);
+                    groupedOrds.set(next.increment(owningBucketOrd, 1) - 1, ord);
+                }
+            }
+            groupedSize = ords.size();
+        }
+
+        @Override
+        public void close() {
+            Releasables.close(ords, bucketCounts, groupedOrds, groupStarts);
+        }
+    }
+}
@@ -18,16 +18,20 @@
  */
 package org.elasticsearch.search.aggregations.support;
 
+import org.apache.lucene.document.LongPoint;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.DocValues;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.OrdinalMap;
+import org.apache.lucene.index.PointValues;
 import org.apache.lucene.index.SortedNumericDocValues;
 import org.apache.lucene.index.SortedSetDocValues;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Scorable;
 import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.Nullable;
+import org.elasticsearch.common.Rounding;
 import org.elasticsearch.common.lucene.ScorerAware;
 import org.elasticsearch.common.util.CollectionUtils;
 import org.elasticsearch.index.fielddata.AbstractSortingNumericDocValues;
@@ -268,6 +272,14 @@ public abstract class ValuesSource {
         /** Whether the underlying data is floating-point or not. */
         public abstract boolean isFloatingPoint();
 
+        /**
+         * Prepare the given {@link Rounding} for rounding the values of this source, shifted by {@code -offset}, on the given reader.
+         * Sources that know the range of their values can use it to pre-compute time zone transitions.
+         */
+        public Rounding.Prepared prepareRounding(Rounding rounding, long offset, @Nullable IndexReader reader) throws IOException {
+            return rounding.prepareForUnknown();
+        }
+
         /** Get the current {@link SortedNumericDocValues}. */
         public abstract SortedNumericDocValues longValues(LeafReaderContext context) throws IOException;
 
@@ -410,6 +422,25 @@ public abstract class ValuesSource {
             public SortedNumericDoubleValues doubleValues(LeafReaderContext context) {
                 return indexFieldData.load(context).getDoubleValues();
             }
+
+            @Override
+            public Rounding.Prepared prepareRounding(Rounding rounding, long offset, @Nullable IndexReader reader) throws IOException {
+                if (reader != null && indexFieldData.getNumericType() == IndexNumericFieldData.NumericType.DATE) {
+                    // dates in milliseconds are indexed as long points, whose bounds are the bounds of the values
+                    final String field = indexFieldData.getFieldName();
+                    final byte[] min = PointValues.getMinPackedValue(reader, field);
+                    final byte[] max = PointValues.getMaxPackedValue(reader, field);
+                    if (min != null && max != null) {
+                        try {
+                            return rounding.prepare(Math.subtractExact(LongPoint.decodeDimension(min, 0), offset),
+                                Math.subtractExact(LongPoint.decodeDimension(max, 0), offset));
+                        } catch (ArithmeticException e) {
+                            // fall through, values this close to the bounds of a long can't be rounded efficiently anyway
+                        }
+                    }
+                }
+                return super.prepareRounding(rounding, offset, reader);
+            }
         }
 
         public static class Script extends Numeric {
@@ -91,6 +91,8 @@ public final class DocValueFieldsFetchSubPhase implements FetchSubPhase {
                     "ease the transition to 7.x. It has become the default and shouldn't be set explicitly anymore.");
         }
 
+        // resolve every requested field once up-front so that the per-hit loop below only has to advance iterators
+        final List<DocValueField> fields = new ArrayList<>(context.docValueFieldsContext().fields().size());
         for (FieldAndFormat fieldAndFormat : context.docValueFieldsContext().fields()) {
             String field = fieldAndFormat.field;
             MappedFieldType fieldType = context.mapperService().fullName(field);
@@ -113,68 +115,100 @@ public final class DocValueFieldsFetchSubPhase implements FetchSubPhase {
                 } else {
                     format = fieldType.docValueFormat(formatDesc, null);
                 }
-                LeafReaderContext subReaderContext = null;
-                AtomicFieldData data = null;
-                SortedBinaryDocValues binaryValues = null; // binary / string / ip fields
-                SortedNumericDocValues longValues = null; // int / date fields
-                SortedNumericDoubleValues doubleValues = null; // floating-point fields
-                for (SearchHit hit : hits) {
-                    // if the reader index has changed we need to get a new doc values reader instance
-                    if (subReaderContext == null || hit.docId() >= subReaderContext.docBase + subReaderContext.reader().maxDoc()) {
-                        int readerIndex = ReaderUtil.subIndex(hit.docId(), context.searcher().getIndexReader().leaves());
-                        subReaderContext = context.searcher().getIndexReader().leaves().get(readerIndex);
-                        data = indexFieldData.load(subReaderContext);
-                        if (indexFieldData instanceof IndexNumericFieldData) {
-                            NumericType numericType = ((IndexNumericFieldData) indexFieldData).getNumericType();
-                            if (numericType.isFloatingPoint()) {
-                                doubleValues = ((AtomicNumericFieldData) data).getDoubleValues();
-                            } else {
-                                // by default nanoseconds are cut to milliseconds within aggregations
-                                // however for doc value fields we need the original nanosecond longs
-                                if (isNanosecond) {
-                                    longValues = ((SortedNumericDVIndexFieldData.NanoSecondFieldData) data).getLongValuesAsNanos();
-                                } else {
-                                    longValues = ((AtomicNumericFieldData) data).getLongValues();
-                                }
-                            }
-                        } else {
-                            data = indexFieldData.load(subReaderContext);
-                            binaryValues = data.getBytesValues();
-                        }
+                fields.add(new DocValueField(field, indexFieldData, format, isNanosecond));
+            }
+        }
+        if (fields.isEmpty()) {
+            return;
+        }
+
+        // hits are sorted by doc id, so we walk every segment once and advance the doc values of all fields in lockstep
+        final List<LeafReaderContext> leaves = context.searcher().getIndexReader().leaves();
+        LeafReaderContext subReaderContext = null;
+        for (SearchHit hit : hits) {
+            // if the reader index has changed we need to get new doc values reader instances
+            if (subReaderContext == null || hit.docId() >= subReaderContext.docBase + subReaderContext.reader().maxDoc()) {
+                subReaderContext = leaves.get(ReaderUtil.subIndex(hit.docId(), leaves));
+                for (DocValueField field : fields) {
+                    field.setNextReader(subReaderContext);
+                }
+            }
+            if (hit.fieldsOrNull() == null) {
+                hit.fields(new HashMap<>(fields.size()));
+            }
+            final int subDocId = hit.docId() - subReaderContext.docBase;
+            for (DocValueField field : fields) {
+                DocumentField hitField = hit.getFields().get(field.name);
+                if (hitField == null) {
+                    hitField = new DocumentField(field.name, new ArrayList<>(2));
+                    hit.getFields().put(field.name, hitField);
+                }
+                field.collect(subDocId, hitField.getValues());
+            }
+        }
+    }
+
+    /**
+     * A requested doc value field, resolved once per request, that holds the doc values of the segment currently being visited.
+     */
+    private static final class DocValueField {
+        private final String name;
+        private final IndexFieldData<?> indexFieldData;
+        private final DocValueFormat format;
+        private final boolean isNanosecond;
+
+        private SortedBinaryDocValues binaryValues; // binary / string / ip fields
+        private SortedNumericDocValues longValues; // int / date fields
+        private SortedNumericDoubleValues doubleValues; // floating-point fields
+
+        DocValueField(String name, IndexFieldData<?> indexFieldData, DocValueFormat format, boolean isNanosecond) {
+            this.name = name;
+            this.indexFieldData = indexFieldData;
+            this.format = format;
+            this.isNanosecond = isNanosecond;
+        }
+
+        void setNextReader(LeafReaderContext subReaderContext) {
+            final AtomicFieldData data = indexFieldData.load(subReaderContext);
+            if (indexFieldData instanceof IndexNumericFieldData) {
+                NumericType numericType = ((IndexNumericFieldData) indexFieldData).getNumericType();
+                if (numericType.isFloatingPoint()) {
+                    doubleValues = ((AtomicNumericFieldData) data).getDoubleValues();
+                } else {
+                    // by default nanoseconds are cut to milliseconds within aggregations
+                    // however for doc value fields we need the original nanosecond longs
+                    if (isNanosecond) {
+                        longValues = ((SortedNumericDVIndexFieldData.NanoSecondFieldData) data).getLongValuesAsNanos();
+                    } else {
+                        longValues = ((AtomicNumericFieldData) data).getLongValues();
                     }
-                    if (hit.fieldsOrNull() == null) {
-                        hit.fields(new HashMap<>(2));
+                }
+            } else {
+                binaryValues = data.getBytesValues();
+            }
+        }
+
+        void collect(int subDocId, List<Object> values) throws IOException {
+            if (binaryValues != null) {
+                if (binaryValues.advanceExact(subDocId)) {
+                    for (int i = 0, count = binaryValues.docValueCount(); i < count; ++i) {
+                        values.add(format.format(binaryValues.nextValue()));
                     }
-                    DocumentField hitField = hit.getFields().get(field);
-                    if (hitField == null) {
-                        hitField = new DocumentField(field, new ArrayList<>(2));
-                        hit.getFields().put(field, hitField);
+                }
+            } else if (longValues != null) {
+                if (longValues.advanceExact(subDocId)) {
+                    for (int i = 0, count = longValues.docValueCount(); i < count; ++i) {
+                        values.add(format.format(longValues.nextValue()));
                     }
-                    final List<Object> values = hitField.getValues();
-
-                    int subDocId = hit.docId() - subReaderContext.docBase;
-                    if (binaryValues != null) {
-                        if (binaryValues.advanceExact(subDocId)) {
-                            for (int i = 0, count = binaryValues.docValueCount(); i < count; ++i) {
-                                values.add(format.format(binaryValues.nextValue()));
-                            }
-                        }
-                    } else if (longValues != null) {
-                        if (longValues.advanceExact(subDocId)) {
-                            for (int i = 0, count = longValues.docValueCount(); i < count; ++i) {
-                                values.add(format.format(longValues.nextValue()));
-                            }
-                        }
-                    } else if (doubleValues != null) {
-                        if (doubleValues.advanceExact(subDocId)) {
-                            for (int i = 0, count = doubleValues.docValueCount(); i < count; ++i) {
-                                values.add(format.format(doubleValues.nextValue()));
-                            }
-                        }
-                    } else {
-                        throw new AssertionError("Unreachable code");
+                }
+            } else if (doubleValues != null) {
+                if (doubleValues.advanceExact(subDocId)) {
+                    for (int i = 0, count = doubleValues.docValueCount(); i < count; ++i) {
+                        values.add(format.format(doubleValues.nextValue()));
                     }
                 }
+            } else {
+                throw new AssertionError("Unreachable code");
             }
         }
     }
@@ -0,0 +1,42 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.lucene.util;
+
+import org.elasticsearch.test.ESTestCase;
+
+public class MatchAllBitSetTests extends ESTestCase {
+
+    public void testBehavesLikeFullFixedBitSet() {
+        final int numBits = randomIntBetween(1, 10000);
+        final FixedBitSet expected = new FixedBitSet(numBits);
+        expected.set(0, numBits);
+        final MatchAllBitSet actual = new MatchAllBitSet(numBits);
+
+        assertEquals(expected.length(), actual.length());
+        assertEquals(expected.cardinality(), actual.cardinality());
+        assertEquals(expected.cardinality(), actual.approximateCardinality());
+        for (int i = 0; i < numBits; i++) {
+            assertEquals(expected.get(i), actual.get(i));
+            assertEquals(expected.nextSetBit(i), actual.nextSetBit(i));
+            assertEquals(expected.prevSetBit(i), actual.prevSetBit(i));
+        }
+        assertTrue(actual.ramBytesUsed() < expected.ramBytesUsed() || numBits <= Long.SIZE);
+        expectThrows(UnsupportedOperationException.class, () -> actual.clear(randomIntBetween(0, numBits - 1)));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.action.search;
+
+import org.elasticsearch.Version;
+import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
+import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.tasks.Task;
+import org.elasticsearch.tasks.TaskId;
+import org.elasticsearch.tasks.TaskInfo;
+import org.elasticsearch.test.AbstractWireSerializingTestCase;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.test.VersionUtils;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+public class SearchTaskStatusTests extends AbstractWireSerializingTestCase<SearchTask.Status> {
+
+    @Override
+    protected SearchTask.Status createTestInstance() {
+        return new SearchTask.Status(randomNonNegativeLong());
+    }
+
+    @Override
+    protected Writeable.Reader<SearchTask.Status> instanceReader() {
+        return SearchTask.Status::new;
+    }
+
+    @Override
+    protected SearchTask.Status mutateInstance(SearchTask.Status instance) {
+        return new SearchTask.Status(randomValueOtherThan(instance.getReservedMemoryInBytes(), ESTestCase::randomNonNegativeLong));
+    }
+
+    public void testToString() {
+        assertThat(createTestInstance().toString(), containsString("reserved_memory_in_bytes"));
+    }
+
+    public void testStatusIsNotSentToOlderVersions() throws IOException {
+        final NamedWriteableRegistry registry = new NamedWriteableRegistry(Collections.singletonList(
+            new NamedWriteableRegistry.Entry(Task.Status.class, SearchTask.Status.NAME, SearchTask.Status::new)));
+        final SearchTask.Status status = createTestInstance();
+        final TaskInfo taskInfo = new TaskInfo(new TaskId(randomAlphaOfLength(5), randomNonNegativeLong()), "transport",
+            SearchAction.NAME, null, status, randomNonNegativeLong(), randomNonNegativeLong(), true, TaskId.EMPTY_TASK_ID,
+            Collections.emptyMap());
+
+        final TaskInfo current = copyWriteable(taskInfo, registry, TaskInfo::new, Version.CURRENT);
+        assertThat(current.getStatus(), equalTo(status));
+
+        final Version oldVersion = VersionUtils.randomVersionBetween(random(), Version.V_7_0_0, Version.V_7_5_0);
+        final TaskInfo old = copyWriteable(taskInfo, registry, TaskInfo::new, oldVersion);
+        assertThat(old.getStatus(), nullValue());
+        assertThat(old.getTaskId(), equalTo(taskInfo.getTaskId()));
+        assertThat(old.getStartTime(), equalTo(taskInfo.getStartTime()));
+    }
+
+    public void testOnlyTasksExecutingASearchContextHaveAStatus() {
+        final SearchTask task = new SearchTask(randomNonNegativeLong(), "transport", SearchAction.NAME, "", TaskId.EMPTY_TASK_ID,
+            Collections.emptyMap());
+        assertThat(task.getStatus(), nullValue());
+        assertThat(task.getReservedMemoryInBytes(), equalTo(0L));
+
+        final long reserved = randomNonNegativeLong();
+        task.setReservedMemory(() -> reserved);
+        assertThat(task.getStatus(), equalTo(new SearchTask.Status(reserved)));
+    }
+}
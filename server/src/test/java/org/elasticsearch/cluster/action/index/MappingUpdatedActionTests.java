@@ -0,0 +1,109 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.cluster.action.index;
+
+import org.elasticsearch.Version;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.support.master.AcknowledgedResponse;
+import org.elasticsearch.cluster.metadata.IndexMetaData;
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.index.Index;
+import org.elasticsearch.index.mapper.ContentPath;
+import org.elasticsearch.index.mapper.Mapper;
+import org.elasticsearch.index.mapper.Mapping;
+import org.elasticsearch.index.mapper.MetadataFieldMapper;
+import org.elasticsearch.index.mapper.RootObjectMapper;
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.emptyMap;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class MappingUpdatedActionTests extends ESTestCase {
+
+    public void testIdenticalUpdatesShareRequest() {
+        final List<ActionListener<AcknowledgedResponse>> sentRequests = new ArrayList<>();
+        final MappingUpdatedAction mappingUpdatedAction = new MappingUpdatedAction(Settings.EMPTY,
+            new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS)) {
+            @Override
+            protected void sendUpdateMapping(Index index, String type, String source, ActionListener<AcknowledgedResponse> listener) {
+                sentRequests.add(listener);
+            }
+        };
+        final Index index = new Index("index", "uuid");
+        final int numUpdates = randomIntBetween(2, 10);
+        final AtomicInteger responses = new AtomicInteger();
+        for (int i = 0; i < numUpdates; i++) {
+            mappingUpdatedAction.updateMappingOnMaster(index, "_doc", mapping("_doc"),
+                ActionListener.wrap(r -> responses.incrementAndGet(), e -> fail()));
+        }
+        assertThat(sentRequests.size(), equalTo(1));
+
+        // an update of another index is sent separately
+        mappingUpdatedAction.updateMappingOnMaster(new Index("other", "other_uuid"), "_doc", mapping("_doc"),
+            ActionListener.wrap(r -> responses.incrementAndGet(), e -> fail()));
+        assertThat(sentRequests.size(), equalTo(2));
+
+        sentRequests.get(0).onResponse(new AcknowledgedResponse(true));
+        assertThat(responses.get(), equalTo(numUpdates));
+        sentRequests.get(1).onResponse(new AcknowledgedResponse(true));
+        assertThat(responses.get(), equalTo(numUpdates + 1));
+
+        // once the pending request completed, a new update is sent again
+        mappingUpdatedAction.updateMappingOnMaster(index, "_doc", mapping("_doc"), ActionListener.wrap(r -> {}, e -> fail()));
+        assertThat(sentRequests.size(), equalTo(3));
+    }
+
+    public void testFailureIsPropagatedToAllWaitingListeners() {
+        final List<ActionListener<AcknowledgedResponse>> sentRequests = new ArrayList<>();
+        final MappingUpdatedAction mappingUpdatedAction = new MappingUpdatedAction(Settings.EMPTY,
+            new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS)) {
+            @Override
+            protected void sendUpdateMapping(Index index, String type, String source, ActionListener<AcknowledgedResponse> listener) {
+                sentRequests.add(listener);
+            }
+        };
+        final Index index = new Index("index", "uuid");
+        final int numUpdates = randomIntBetween(1, 10);
+        final Exception exception = new IllegalArgumentException("simulated");
+        final List<Exception> failures = new ArrayList<>();
+        for (int i = 0; i < numUpdates; i++) {
+            mappingUpdatedAction.updateMappingOnMaster(index, "_doc", mapping("_doc"), ActionListener.wrap(r -> fail(), failures::add));
+        }
+        assertThat(sentRequests.size(), equalTo(1));
+        sentRequests.get(0).onFailure(exception);
+        assertThat(failures.size(), equalTo(numUpdates));
+        for (Exception failure : failures) {
+            assertThat(failure, sameInstance(exception));
+        }
+    }
+
+    private static Mapping mapping(String type) {
+        Mapper.BuilderContext context = new Mapper.BuilderContext(
+            Settings.builder().put(IndexMetaData.SETTING_VERSION_CREATED, Version.CURRENT).build(), new ContentPath());
+        final RootObjectMapper root = new RootObjectMapper.Builder(type).build(context);
+        return new Mapping(Version.CURRENT, root, new MetadataFieldMapper[0], emptyMap());
+    }
+}
@@ -20,24 +20,34 @@ package org.elasticsearch.cluster.coordination;
 
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.Version;
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.cluster.ClusterChangedEvent;
 import org.elasticsearch.cluster.ClusterState;
 import org.elasticsearch.cluster.Diff;
 import org.elasticsearch.cluster.coordination.CoordinationMetaData.VotingConfiguration;
 import org.elasticsearch.cluster.node.DiscoveryNode;
 import org.elasticsearch.cluster.node.DiscoveryNodes;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.collect.Tuple;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.settings.ClusterSettings;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.node.Node;
 import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.test.VersionUtils;
 import org.elasticsearch.test.transport.CapturingTransport;
+import org.elasticsearch.transport.BytesTransportRequest;
 import org.elasticsearch.transport.TransportService;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 
 public class PublicationTransportHandlerTests extends ESTestCase {
@@ -87,4 +97,66 @@ public class PublicationTransportHandlerTests extends ESTestCase {
         assertThat(e.getCause(), instanceOf(IOException.class));
         assertThat(e.getCause().getMessage(), containsString("Simulated failure of diff serialization"));
     }
+
+    public void testSerializedFormsAreSharedBetweenNodesOfSameVersion() {
+        DeterministicTaskQueue deterministicTaskQueue =
+            new DeterministicTaskQueue(Settings.builder().put(Node.NODE_NAME_SETTING.getKey(), "test").build(), random());
+        final ClusterSettings clusterSettings = new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS);
+        final DiscoveryNode localNode = new DiscoveryNode("localNode", buildNewFakeTransportAddress(), Version.CURRENT);
+        final CapturingTransport capturingTransport = new CapturingTransport();
+        final TransportService transportService = capturingTransport.createTransportService(Settings.EMPTY,
+            deterministicTaskQueue.getThreadPool(),
+            TransportService.NOOP_TRANSPORT_INTERCEPTOR,
+            x -> localNode,
+            clusterSettings, Collections.emptySet());
+        final PublicationTransportHandler handler = new PublicationTransportHandler(transportService,
+            writableRegistry(), pu -> null, (pu, l) -> {});
+        transportService.start();
+        transportService.acceptIncomingRequests();
+
+        final Version oldVersion = VersionUtils.randomPreviousCompatibleVersion(random(), Version.CURRENT);
+        final DiscoveryNodes.Builder previousNodes = DiscoveryNodes.builder().add(localNode).localNodeId(localNode.getId());
+        final DiscoveryNodes.Builder newNodes = DiscoveryNodes.builder().add(localNode).localNodeId(localNode.getId());
+        final List<DiscoveryNode> otherNodes = new ArrayList<>();
+        // nodes that are new in the cluster receive the full state, the others receive a diff. The first four nodes make sure that
+        // there is a full state and a diff for each of the two versions, so that there are four forms to serialize concurrently.
+        final int numNodes = randomIntBetween(4, 8);
+        for (int i = 0; i < numNodes; i++) {
+            final Version version = i < 4 ? (i % 2 == 0 ? oldVersion : Version.CURRENT) : randomFrom(oldVersion, Version.CURRENT);
+            final DiscoveryNode node = new DiscoveryNode("node" + i, buildNewFakeTransportAddress(), version);
+            otherNodes.add(node);
+            newNodes.add(node);
+            if (i < 2 || (i >= 4 && randomBoolean())) {
+                previousNodes.add(node);
+            }
+        }
+        final ClusterState previousState = CoordinationStateTests.clusterState(2L, 1L, previousNodes.build(),
+            VotingConfiguration.EMPTY_CONFIG, VotingConfiguration.EMPTY_CONFIG, 0L);
+        final ClusterState newState = CoordinationStateTests.clusterState(2L, 2L, newNodes.build(),
+            VotingConfiguration.EMPTY_CONFIG, VotingConfiguration.EMPTY_CONFIG, 1L);
+
+        deterministicTaskQueue.runAllRunnableTasks();
+        final PublicationTransportHandler.PublicationContext context =
+            handler.newPublicationContext(new ClusterChangedEvent("test", newState, previousState));
+        // the forms were serialized by the calling thread, which didn't wait for the helpers it forked to the generic pool
+        assertTrue(deterministicTaskQueue.hasRunnableTasks());
+        deterministicTaskQueue.runAllRunnableTasks();
+        final PublishRequest publishRequest = new PublishRequest(newState);
+        for (DiscoveryNode node : otherNodes) {
+            context.sendPublishRequest(node, publishRequest, ActionListener.wrap(() -> {}));
+        }
+
+        final Map<Tuple<Version, Boolean>, BytesReference> sentBytes = new HashMap<>();
+        final CapturingTransport.CapturedRequest[] capturedRequests = capturingTransport.getCapturedRequestsAndClear();
+        assertThat(capturedRequests.length, equalTo(otherNodes.size()));
+        for (CapturingTransport.CapturedRequest capturedRequest : capturedRequests) {
+            final BytesReference bytes = ((BytesTransportRequest) capturedRequest.request).bytes();
+            final boolean fullState = previousState.nodes().nodeExists(capturedRequest.node) == false;
+            final BytesReference previous = sentBytes.putIfAbsent(Tuple.tuple(capturedRequest.node.getVersion(), fullState), bytes);
+            if (previous != null) {
+                assertSame(previous, bytes);
+            }
+        }
+        assertThat(sentBytes.size(), equalTo(4));
+    }
 }
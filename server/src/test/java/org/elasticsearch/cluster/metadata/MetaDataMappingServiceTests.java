@@ -35,8 +35,13 @@ import org.elasticsearch.plugins.Plugin;
 import org.elasticsearch.test.ESSingleNodeTestCase;
 import org.elasticsearch.test.InternalSettingsPlugin;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
@@ -105,6 +110,39 @@ public class MetaDataMappingServiceTests extends ESSingleNodeTestCase {
         assertThat(result.resultingState.metaData().index("test").getMappingVersion(), equalTo(1 + previousVersion));
     }
 
+    public void testIdenticalMappingUpdatesAreAppliedOnce() throws Exception {
+        final IndexService indexService = createIndex("test", client().admin().indices().prepareCreate("test").addMapping("type"));
+        final long previousVersion = indexService.getMetaData().getMappingVersion();
+        final MetaDataMappingService mappingService = getInstanceFromNode(MetaDataMappingService.class);
+        final ClusterService clusterService = getInstanceFromNode(ClusterService.class);
+        final AtomicInteger appliedRequests = new AtomicInteger();
+        final MetaDataMappingService.PutMappingExecutor putMappingExecutor = mappingService.new PutMappingExecutor() {
+            @Override
+            ClusterState applyRequest(ClusterState currentState, PutMappingClusterStateUpdateRequest request,
+                                      Map<Index, MapperService> indexMapperServices) throws IOException {
+                appliedRequests.incrementAndGet();
+                return super.applyRequest(currentState, request, indexMapperServices);
+            }
+        };
+        final List<PutMappingClusterStateUpdateRequest> requests = new ArrayList<>();
+        final int numRequests = randomIntBetween(2, 10);
+        for (int i = 0; i < numRequests; i++) {
+            final PutMappingClusterStateUpdateRequest request = new PutMappingClusterStateUpdateRequest().type("type");
+            request.indices(new Index[] {indexService.index()});
+            request.source("{ \"properties\": { \"field\": { \"type\": \"text\" }}}");
+            requests.add(request);
+        }
+        final ClusterStateTaskExecutor.ClusterTasksResult<PutMappingClusterStateUpdateRequest> result =
+                putMappingExecutor.execute(clusterService.state(), requests);
+        assertThat(result.executionResults.size(), equalTo(numRequests));
+        for (ClusterStateTaskExecutor.TaskResult taskResult : result.executionResults.values()) {
+            assertTrue(taskResult.isSuccess());
+        }
+        // only the first request was parsed and merged, its copies were completed without applying them again
+        assertThat(appliedRequests.get(), equalTo(1));
+        assertThat(result.resultingState.metaData().index("test").getMappingVersion(), equalTo(1 + previousVersion));
+    }
+
     public void testMappingVersionUnchanged() throws Exception {
         final IndexService indexService = createIndex("test", client().admin().indices().prepareCreate("test").addMapping("type"));
         final long previousVersion = indexService.getMetaData().getMappingVersion();
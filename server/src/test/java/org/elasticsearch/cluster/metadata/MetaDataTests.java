@@ -503,6 +503,68 @@ public class MetaDataTests extends ESTestCase {
         assertThat(fromStreamMeta.indexGraveyard(), equalTo(fromStreamMeta.indexGraveyard()));
     }
 
+    public void testIdenticalMappingsAreShared() throws IOException {
+        final int numIndices = randomIntBetween(2, 10);
+        MetaData.Builder builder = MetaData.builder();
+        for (int i = 0; i < numIndices; i++) {
+            builder.put(IndexMetaData.builder("index-" + i)
+                .settings(Settings.builder().put(IndexMetaData.SETTING_VERSION_CREATED, Version.CURRENT)
+                    .put(IndexMetaData.SETTING_NUMBER_OF_SHARDS, 1).put(IndexMetaData.SETTING_NUMBER_OF_REPLICAS, 0))
+                .putMapping("_doc", FIND_MAPPINGS_TEST_ITEM));
+        }
+        builder.put(IndexMetaData.builder("other")
+            .settings(Settings.builder().put(IndexMetaData.SETTING_VERSION_CREATED, Version.CURRENT)
+                .put(IndexMetaData.SETTING_NUMBER_OF_SHARDS, 1).put(IndexMetaData.SETTING_NUMBER_OF_REPLICAS, 0))
+            .putMapping("_doc", "{\"_doc\": {\"properties\": {\"other\": {\"type\": \"keyword\"}}}}"));
+        final MetaData metaData = builder.build();
+        assertIdenticalMappingsAreShared(metaData, numIndices);
+
+        final BytesStreamOutput out = new BytesStreamOutput();
+        metaData.writeTo(out);
+        NamedWriteableRegistry namedWriteableRegistry = new NamedWriteableRegistry(ClusterModule.getNamedWriteables());
+        final MetaData fromStreamMeta = MetaData.readFrom(
+            new NamedWriteableAwareStreamInput(out.bytes().streamInput(), namedWriteableRegistry)
+        );
+        assertIdenticalMappingsAreShared(fromStreamMeta, numIndices);
+
+        // a new index with the same mapping shares the existing instance, and the existing indices are left untouched
+        final MetaData withNewIndex = MetaData.builder(fromStreamMeta)
+            .put(IndexMetaData.builder("index-" + numIndices)
+                .settings(Settings.builder().put(IndexMetaData.SETTING_VERSION_CREATED, Version.CURRENT)
+                    .put(IndexMetaData.SETTING_NUMBER_OF_SHARDS, 1).put(IndexMetaData.SETTING_NUMBER_OF_REPLICAS, 0))
+                .putMapping("_doc", FIND_MAPPINGS_TEST_ITEM)).build();
+        assertIdenticalMappingsAreShared(withNewIndex, numIndices + 1);
+        for (int i = 0; i < numIndices; i++) {
+            assertSame(fromStreamMeta.index("index-" + i), withNewIndex.index("index-" + i));
+        }
+    }
+
+    public void testDedupedMappingsKeepTheInstanceOfTheOldestIndex() throws IOException {
+        final long creationDate = randomNonNegativeLong() / 2;
+        final MetaData existing = MetaData.builder()
+            .put(IndexMetaData.builder("existing")
+                .settings(Settings.builder().put(IndexMetaData.SETTING_VERSION_CREATED, Version.CURRENT)
+                    .put(IndexMetaData.SETTING_NUMBER_OF_SHARDS, 1).put(IndexMetaData.SETTING_NUMBER_OF_REPLICAS, 0))
+                .creationDate(creationDate)
+                .putMapping("_doc", FIND_MAPPINGS_TEST_ITEM)).build();
+        final MetaData withNewIndex = MetaData.builder(existing)
+            .put(IndexMetaData.builder("new")
+                .settings(Settings.builder().put(IndexMetaData.SETTING_VERSION_CREATED, Version.CURRENT)
+                    .put(IndexMetaData.SETTING_NUMBER_OF_SHARDS, 1).put(IndexMetaData.SETTING_NUMBER_OF_REPLICAS, 0))
+                .creationDate(creationDate + randomIntBetween(1, 1000))
+                .putMapping("_doc", FIND_MAPPINGS_TEST_ITEM)).build();
+        assertSame(existing.index("existing"), withNewIndex.index("existing"));
+        assertSame(existing.index("existing").mapping(), withNewIndex.index("new").mapping());
+    }
+
+    private static void assertIdenticalMappingsAreShared(MetaData metaData, int numIndices) {
+        final MappingMetaData shared = metaData.index("index-0").mapping();
+        for (int i = 0; i < numIndices; i++) {
+            assertSame(shared, metaData.index("index-" + i).mapping());
+        }
+        assertNotSame(shared, metaData.index("other").mapping());
+    }
+
     public void testFindMappings() throws IOException {
         MetaData metaData = MetaData.builder()
                 .put(IndexMetaData.builder("index1")
@@ -0,0 +1,72 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.cluster.service;
+
+import org.elasticsearch.common.Strings;
+import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.test.AbstractWireSerializingTestCase;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.containsString;
+
+public class ClusterStateTaskExecutionStatsTests extends AbstractWireSerializingTestCase<ClusterStateTaskExecutionStats> {
+
+    @Override
+    protected ClusterStateTaskExecutionStats createTestInstance() {
+        return randomClusterStateTaskExecutionStats();
+    }
+
+    @Override
+    protected Writeable.Reader<ClusterStateTaskExecutionStats> instanceReader() {
+        return ClusterStateTaskExecutionStats::new;
+    }
+
+    @Override
+    protected ClusterStateTaskExecutionStats mutateInstance(ClusterStateTaskExecutionStats instance) {
+        final Map<String, ClusterStateTaskExecutionStats.ExecutorStats> executorStats = new HashMap<>(instance.getExecutorStats());
+        executorStats.put(randomValueOtherThanMany(executorStats::containsKey, () -> randomAlphaOfLength(10)), randomExecutorStats());
+        return new ClusterStateTaskExecutionStats(executorStats);
+    }
+
+    public void testToXContent() {
+        final ClusterStateTaskExecutionStats stats = new ClusterStateTaskExecutionStats(
+            Map.of("ShardStartedClusterStateTaskExecutor", new ClusterStateTaskExecutionStats.ExecutorStats(3, 7, 20, 10, 300, 200)));
+        final String json = Strings.toString(stats);
+        assertThat(json, containsString("\"cluster_state_tasks\":{\"ShardStartedClusterStateTaskExecutor\":{\"batches\":3,\"tasks\":7,"
+            + "\"total_queue_wait_time_in_millis\":20,\"max_queue_wait_time_in_millis\":10,"
+            + "\"total_execution_time_in_millis\":300,\"max_execution_time_in_millis\":200}}"));
+    }
+
+    public static ClusterStateTaskExecutionStats randomClusterStateTaskExecutionStats() {
+        final Map<String, ClusterStateTaskExecutionStats.ExecutorStats> executorStats = new HashMap<>();
+        final int executors = randomIntBetween(0, 5);
+        for (int i = 0; i < executors; i++) {
+            executorStats.put(randomAlphaOfLength(10), randomExecutorStats());
+        }
+        return new ClusterStateTaskExecutionStats(executorStats);
+    }
+
+    private static ClusterStateTaskExecutionStats.ExecutorStats randomExecutorStats() {
+        return new ClusterStateTaskExecutionStats.ExecutorStats(randomNonNegativeLong(), randomNonNegativeLong(), randomNonNegativeLong(),
+            randomNonNegativeLong(), randomNonNegativeLong(), randomNonNegativeLong());
+    }
+}
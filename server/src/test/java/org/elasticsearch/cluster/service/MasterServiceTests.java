@@ -648,6 +648,47 @@ public class MasterServiceTests extends ESTestCase {
         }
     }
 
+    public void testTaskExecutionStatsPerExecutor() throws Exception {
+        final ClusterStateTaskExecutor<Object> executor = (currentState, tasks) -> {
+            relativeTimeInMillis += TimeValue.timeValueSeconds(1).millis();
+            return ClusterStateTaskExecutor.ClusterTasksResult.builder().successes(tasks).build(currentState);
+        };
+        final int batches = randomIntBetween(1, 5);
+        try (MasterService masterService = createMasterService(true)) {
+            for (int i = 0; i < batches; i++) {
+                final CountDownLatch latch = new CountDownLatch(2);
+                final ClusterStateTaskListener listener = new ClusterStateTaskListener() {
+                    @Override
+                    public void clusterStateProcessed(String source, ClusterState oldState, ClusterState newState) {
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void onFailure(String source, Exception e) {
+                        throw new AssertionError(e);
+                    }
+                };
+                final Map<Object, ClusterStateTaskListener> tasks = new HashMap<>();
+                tasks.put(new Object(), listener);
+                tasks.put(new Object(), listener);
+                masterService.submitStateUpdateTasks("test-" + i, tasks, ClusterStateTaskConfig.build(Priority.NORMAL), executor);
+                latch.await();
+            }
+
+            final String executorName = MasterService.executorName(executor);
+            assertThat(executorName, equalTo(MasterServiceTests.class.getSimpleName()));
+            assertBusy(() -> {
+                final ClusterStateTaskExecutionStats.ExecutorStats stats =
+                    masterService.getTaskExecutionStats().getExecutorStats().get(executorName);
+                assertNotNull(stats);
+                assertThat(stats.getBatchCount(), equalTo((long) batches));
+                assertThat(stats.getTaskCount(), equalTo(2L * batches));
+                assertThat(stats.getTotalExecutionTime(), equalTo(TimeValue.timeValueSeconds(batches)));
+                assertThat(stats.getMaxExecutionTime(), equalTo(TimeValue.timeValueSeconds(1)));
+            });
+        }
+    }
+
     public void testBlockingCallInClusterStateTaskListenerFails() throws InterruptedException {
         assumeTrue("assertions must be enabled for this test to work", BaseFuture.class.desiredAssertionStatus());
         final CountDownLatch latch = new CountDownLatch(1);
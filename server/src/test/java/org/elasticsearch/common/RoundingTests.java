@@ -43,8 +43,10 @@ import java.util.concurrent.TimeUnit;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
 
 public class RoundingTests extends ESTestCase {
 
@@ -235,6 +237,71 @@ public class RoundingTests extends ESTestCase {
         }
     }
 
+    /**
+     * Tests that a prepared rounding rounds exactly like the rounding it was prepared from, both for values inside
+     * and outside of the range it was prepared for and especially around the transitions in that range.
+     */
+    public void testPreparedRoundingRandom() {
+        for (int i = 0; i < 100; ++i) {
+            final ZoneId tz = randomZone();
+            final Rounding rounding;
+            final long unitMillis;
+            if (randomBoolean()) {
+                Rounding.DateTimeUnit unit = randomFrom(Rounding.DateTimeUnit.values());
+                rounding = new Rounding.TimeUnitRounding(unit, tz);
+                unitMillis = unit.getField().getBaseUnit().getDuration().toMillis();
+            } else {
+                TimeUnit unit = randomFrom(TimeUnit.MINUTES, TimeUnit.HOURS, TimeUnit.DAYS);
+                unitMillis = unit.toMillis(randomIntBetween(1, 365));
+                rounding = new Rounding.TimeIntervalRounding(unitMillis, tz);
+            }
+            final long min = Math.abs(randomLong() % (2 * (long) 10e11)); // 1970-01-01T00:00:00Z - 2033-05-18T05:33:20.000+02:00
+            final long max = min + randomLongBetween(0, TimeUnit.DAYS.toMillis(randomFrom(1, 30, 365, 3650)));
+            final Rounding.Prepared prepared = rounding.prepare(min, max);
+
+            final List<Long> dates = new ArrayList<>();
+            dates.add(min);
+            dates.add(max);
+            for (int j = 0; j < 100; j++) {
+                dates.add(randomLongBetween(min, max));
+            }
+            // outside of the prepared range
+            dates.add(min - randomLongBetween(1, unitMillis));
+            dates.add(max + randomLongBetween(1, unitMillis));
+            ZoneOffsetTransition transition = tz.getRules().nextTransition(Instant.ofEpochMilli(min));
+            while (transition != null && transition.getInstant().toEpochMilli() <= max) {
+                long t = transition.getInstant().toEpochMilli();
+                for (long date : new long[] { t - 1, t, t + 1, t - unitMillis, t + unitMillis, dateBetween(t, t + 2 * unitMillis) }) {
+                    dates.add(date);
+                }
+                transition = tz.getRules().nextTransition(transition.getInstant());
+            }
+            for (long date : dates) {
+                assertThat("prepared rounding of [" + Instant.ofEpochMilli(date) + "] in [" + tz + "] with " + rounding
+                    + " prepared for [" + Instant.ofEpochMilli(min) + "/" + Instant.ofEpochMilli(max) + "]",
+                    prepared.round(date), equalTo(rounding.round(date)));
+            }
+        }
+    }
+
+    public void testPreparedRoundingAcrossTransitions() {
+        ZoneId tz = ZoneId.of("Europe/Paris");
+        Rounding rounding = Rounding.builder(Rounding.DateTimeUnit.DAY_OF_MONTH).timeZone(tz).build();
+        Rounding.Prepared prepared = rounding.prepare(time("2019-01-01T00:00:00Z"), time("2020-01-01T00:00:00Z"));
+        assertThat(prepared, instanceOf(Rounding.TransitionTableRounding.class));
+        assertThat(prepared.round(time("2019-03-15T12:00:00Z")), isDate(time("2019-03-15T00:00:00+01:00"), tz));
+        assertThat(prepared.round(time("2019-03-31T12:00:00Z")), isDate(time("2019-03-31T00:00:00+01:00"), tz));
+        assertThat(prepared.round(time("2019-07-01T01:00:00Z")), isDate(time("2019-07-01T00:00:00+02:00"), tz));
+        assertThat(prepared.round(time("2019-10-27T12:00:00Z")), isDate(time("2019-10-27T00:00:00+02:00"), tz));
+        assertThat(prepared.round(time("2019-12-31T23:30:00Z")), isDate(time("2020-01-01T00:00:00+01:00"), tz));
+
+        // fixed offsets need no table
+        rounding = Rounding.builder(Rounding.DateTimeUnit.DAY_OF_MONTH).timeZone(ZoneOffset.ofHours(2)).build();
+        prepared = rounding.prepare(time("2019-01-01T00:00:00Z"), time("2020-01-01T00:00:00Z"));
+        assertThat(prepared, not(instanceOf(Rounding.TransitionTableRounding.class)));
+        assertThat(prepared.round(time("2019-07-01T01:00:00Z")), isDate(time("2019-07-01T00:00:00+02:00"), ZoneOffset.ofHours(2)));
+    }
+
     /**
      * To be even more nasty, go to a transition in the selected time zone.
      * In one third of the cases stay there, otherwise go half a unit back or forth
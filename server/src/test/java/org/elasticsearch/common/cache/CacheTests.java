@@ -38,9 +38,12 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReferenceArray;
@@ -411,6 +414,67 @@ public class CacheTests extends ESTestCase {
     }
 
 
+    // a hit while another thread holds the LRU lock skips the promotion, unless entries expire after access in which
+    // case the hit waits for the lock so that the entry does not stay at the tail in front of expired entries
+    public void testPromotionOnContendedRead() throws Exception {
+        final boolean expireAfterAccess = randomBoolean();
+        final CountDownLatch lockHeld = new CountDownLatch(1);
+        final CountDownLatch releaseLock = new CountDownLatch(1);
+        final Cache<Integer, String> cache = CacheBuilder.<Integer, String>builder()
+            .setMaximumWeight(3)
+            .removalListener(notification -> {
+                if (notification.getRemovalReason() == RemovalNotification.RemovalReason.INVALIDATED) {
+                    // invoked while holding the LRU lock
+                    lockHeld.countDown();
+                    try {
+                        releaseLock.await();
+                    } catch (InterruptedException e) {
+                        throw new AssertionError(e);
+                    }
+                }
+            })
+            .build();
+        if (expireAfterAccess) {
+            cache.setExpireAfterAccessNanos(TimeValue.timeValueHours(1).nanos());
+        }
+        cache.put(0, "0");
+        cache.put(1, "1");
+        cache.put(2, "2");
+        assertEquals(3, cache.count());
+
+        final Thread holder = new Thread(() -> cache.invalidate(2));
+        holder.start();
+        assertTrue(lockHeld.await(10, TimeUnit.SECONDS));
+
+        final ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            final Future<String> read = reader.submit(() -> cache.get(0));
+            if (expireAfterAccess) {
+                expectThrows(TimeoutException.class, () -> read.get(100, TimeUnit.MILLISECONDS));
+            } else {
+                assertEquals("0", read.get(10, TimeUnit.SECONDS));
+            }
+            releaseLock.countDown();
+            assertEquals("0", read.get(10, TimeUnit.SECONDS));
+        } finally {
+            releaseLock.countDown();
+            reader.shutdown();
+            holder.join();
+        }
+
+        // the entry that was read is the least recently used one unless it was promoted
+        cache.put(3, "3");
+        cache.put(4, "4");
+        assertEquals(3, cache.count());
+        if (expireAfterAccess) {
+            assertEquals("0", cache.get(0));
+            assertNull(cache.get(1));
+        } else {
+            assertNull(cache.get(0));
+            assertEquals("1", cache.get(1));
+        }
+    }
+
     // randomly invalidate some cached entries, then check that a lookup for each of those and only those keys is null
     public void testInvalidate() {
         Cache<Integer, String> cache = CacheBuilder.<Integer, String>builder().build();
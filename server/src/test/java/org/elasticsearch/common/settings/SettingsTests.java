@@ -487,6 +487,20 @@ public class SettingsTests extends ESTestCase {
         assertEquals(Arrays.asList("1", "2"), settings.getAsList("test.key4.foo"));
     }
 
+    public void testReadSettingsFromStreamSharesKeys() throws IOException {
+        Settings original = Settings.builder().put("index.number_of_shards", 1).put("index.number_of_replicas", 0).build();
+        BytesStreamOutput out = new BytesStreamOutput();
+        Settings.writeSettingsToStream(original, out);
+        Settings first = Settings.readSettingsFromStream(out.bytes().streamInput());
+        Settings second = Settings.readSettingsFromStream(out.bytes().streamInput());
+        assertEquals(original, first);
+        assertEquals(original, second);
+        Iterator<String> secondKeys = second.keySet().iterator();
+        for (String key : first.keySet()) {
+            assertSame(key, secondKeys.next());
+        }
+    }
+
     public void testSecureSettingConflict() {
         Setting<SecureString> setting = SecureSetting.secureString("something.secure", null);
         Settings settings = Settings.builder().put("something.secure", "notreallysecure").build();
@@ -152,6 +152,30 @@ public class BigArraysTests extends ESTestCase {
         array.close();
     }
 
+    public void testResizeWithinRecycledPage() {
+        final BigArrays bigArrays = new BigArrays(new MockPageCacheRecycler(Settings.EMPTY), new NoneCircuitBreakerService(),
+            CircuitBreaker.REQUEST);
+        final int startLen = randomIntBetween(PageCacheRecycler.LONG_PAGE_SIZE / 2, PageCacheRecycler.LONG_PAGE_SIZE - 1);
+        final LongArray array = bigArrays.newLongArray(startLen);
+        for (int i = 0; i < startLen; ++i) {
+            array.set(i, i + 1);
+        }
+        final int shrunkLen = randomIntBetween(1, startLen);
+        LongArray resized = bigArrays.resize(array, shrunkLen);
+        assertSame(array, resized);
+        assertEquals(shrunkLen, resized.size());
+        resized = bigArrays.resize(resized, PageCacheRecycler.LONG_PAGE_SIZE);
+        assertSame(array, resized);
+        assertEquals(PageCacheRecycler.LONG_PAGE_SIZE, resized.size());
+        for (int i = 0; i < PageCacheRecycler.LONG_PAGE_SIZE; ++i) {
+            assertEquals(i < shrunkLen ? i + 1 : 0, resized.get(i));
+        }
+        resized = bigArrays.resize(resized, PageCacheRecycler.LONG_PAGE_SIZE + 1);
+        assertNotSame(array, resized);
+        assertEquals(1, resized.get(0));
+        resized.close();
+    }
+
     public void testByteArrayFill() {
         final int len = randomIntBetween(1, 100000);
         final int fromIndex = randomIntBetween(0, len - 1);
@@ -0,0 +1,91 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.common.util;
+
+import org.elasticsearch.common.collect.Tuple;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.indices.breaker.NoneCircuitBreakerService;
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class LongLongHashTests extends ESTestCase {
+
+    private BigArrays randombigArrays() {
+        return new MockBigArrays(new MockPageCacheRecycler(Settings.EMPTY), new NoneCircuitBreakerService());
+    }
+
+    private LongLongHash randomHash() {
+        // Test high load factors to make sure that collision resolution works fine
+        final float maxLoadFactor = 0.6f + randomFloat() * 0.39f;
+        return new LongLongHash(randomIntBetween(0, 100), maxLoadFactor, randombigArrays());
+    }
+
+    public void testDuel() {
+        final List<Tuple<Long, Long>> values = new ArrayList<>();
+        final int numValues = randomIntBetween(1, 100000);
+        // few distinct first keys, like the owning bucket ordinals of aggregations
+        final int numKey1 = randomIntBetween(1, 100);
+        for (int i = 0; i < numValues; ++i) {
+            values.add(new Tuple<>((long) randomInt(numKey1), randomBoolean() ? randomLong() : randomInt(1000)));
+        }
+        final Map<Tuple<Long, Long>, Long> valueToId = new HashMap<>();
+        final List<Tuple<Long, Long>> idToValue = new ArrayList<>();
+        try (LongLongHash hash = randomHash()) {
+            final int iters = randomInt(1000000);
+            for (int i = 0; i < iters; ++i) {
+                final Tuple<Long, Long> value = randomFrom(values);
+                final Long id = valueToId.get(value);
+                if (id != null) {
+                    assertEquals(-1 - id, hash.add(value.v1(), value.v2()));
+                } else {
+                    assertEquals(valueToId.size(), hash.add(value.v1(), value.v2()));
+                    idToValue.add(value);
+                    valueToId.put(value, (long) valueToId.size());
+                }
+            }
+
+            assertEquals(valueToId.size(), hash.size());
+            for (Map.Entry<Tuple<Long, Long>, Long> entry : valueToId.entrySet()) {
+                assertEquals(entry.getValue().longValue(), hash.find(entry.getKey().v1(), entry.getKey().v2()));
+            }
+            for (long i = 0; i < hash.size(); i++) {
+                assertEquals(idToValue.get((int) i).v1().longValue(), hash.getKey1(i));
+                assertEquals(idToValue.get((int) i).v2().longValue(), hash.getKey2(i));
+            }
+        }
+    }
+
+    public void testFindMissing() {
+        try (LongLongHash hash = randomHash()) {
+            assertEquals(-1, hash.find(1, 2));
+            assertEquals(0, hash.add(1, 2));
+            assertEquals(-1, hash.find(2, 1));
+            assertEquals(-1, hash.find(1, 3));
+            assertEquals(0, hash.find(1, 2));
+            assertEquals(1, hash.add(2, 1));
+            assertEquals(-1, hash.add(1, 2));
+            assertEquals(2, hash.size());
+        }
+    }
+}
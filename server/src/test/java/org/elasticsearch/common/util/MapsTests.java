@@ -160,4 +160,13 @@ public class MapsTests extends ESTestCase {
         assertMapImmutability(map);
     }
 
+    public void testCapacity() {
+        assertThat(Maps.capacity(0), equalTo(1));
+        final int expectedSize = randomIntBetween(0, 1 << 20);
+        final int capacity = Maps.capacity(expectedSize);
+        // the map must not reach its resize threshold when holding the expected number of entries
+        assertTrue(capacity * 0.75f >= expectedSize);
+        assertTrue(capacity <= expectedSize / 0.75f + 1);
+    }
+
 }
@@ -22,14 +22,21 @@ package org.elasticsearch.common.util.concurrent;
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.transport.RemoteTransportException;
 import org.hamcrest.Matcher;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.Matchers.anyOf;
 import static org.hamcrest.Matchers.containsString;
@@ -407,4 +414,97 @@ public class EsExecutorsTests extends ESTestCase {
         assertThat(e, hasToString(containsString(expected)));
     }
 
+    public void testRunConcurrentlyRunsAllTasks() throws InterruptedException {
+        final int numTasks = randomIntBetween(0, 100);
+        final AtomicInteger[] runs = new AtomicInteger[numTasks];
+        final List<Runnable> tasks = new ArrayList<>(numTasks);
+        for (int i = 0; i < numTasks; i++) {
+            final AtomicInteger counter = runs[i] = new AtomicInteger();
+            tasks.add(counter::incrementAndGet);
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            EsExecutors.runConcurrently(tasks, randomIntBetween(1, 8), executor);
+        } finally {
+            terminate(executor);
+        }
+        for (AtomicInteger counter : runs) {
+            assertThat(counter.get(), equalTo(1));
+        }
+    }
+
+    public void testRunConcurrentlyDoesNotWaitForQueuedHelpers() {
+        final int numTasks = randomIntBetween(1, 20);
+        final AtomicInteger runs = new AtomicInteger();
+        final List<Runnable> tasks = Collections.nCopies(numTasks, runs::incrementAndGet);
+        final List<Runnable> helpers = new ArrayList<>();
+        final int maxConcurrency = randomIntBetween(2, 8);
+        // an executor that never runs the helpers, the calling thread must still complete all tasks
+        EsExecutors.runConcurrently(tasks, maxConcurrency, helpers::add);
+        assertThat(runs.get(), equalTo(numTasks));
+        assertThat(helpers.size(), equalTo(Math.min(maxConcurrency, numTasks) - 1));
+
+        // helpers that run late find nothing left to do
+        helpers.forEach(Runnable::run);
+        assertThat(runs.get(), equalTo(numTasks));
+    }
+
+    public void testRunConcurrentlyWaitsForAllTasksBeforeRethrowing() {
+        final int numTasks = randomIntBetween(2, 20);
+        final AtomicInteger runs = new AtomicInteger();
+        final List<Runnable> tasks = new ArrayList<>(numTasks);
+        for (int i = 0; i < numTasks; i++) {
+            final int task = i;
+            tasks.add(() -> {
+                runs.incrementAndGet();
+                if (task % 2 == 0) {
+                    throw new IllegalStateException("task [" + task + "] failed");
+                }
+            });
+        }
+        // a concurrency of one runs the tasks in order on the calling thread
+        final IllegalStateException e = expectThrows(IllegalStateException.class,
+            () -> EsExecutors.runConcurrently(tasks, randomIntBetween(1, 8), command -> {}));
+        assertThat(e.getMessage(), equalTo("task [0] failed"));
+        assertThat(e.getSuppressed().length, equalTo((numTasks - 1) / 2));
+        assertThat(runs.get(), equalTo(numTasks));
+    }
+
+    public void testRunConcurrentlyRethrowsOriginalFailures() throws InterruptedException {
+        final int numTasks = randomIntBetween(2, 20);
+        final int failingTask = randomIntBetween(0, numTasks - 1);
+        final boolean error = randomBoolean();
+        final AtomicInteger runs = new AtomicInteger();
+        final List<Runnable> tasks = new ArrayList<>(numTasks);
+        for (int i = 0; i < numTasks; i++) {
+            final boolean fail = i == failingTask;
+            // errors are rethrown even if exceptions happened earlier
+            final boolean failWithException = fail == false && (error || i > failingTask) && randomBoolean();
+            tasks.add(() -> {
+                runs.incrementAndGet();
+                if (fail && error) {
+                    throw new AssertionError("simulated error");
+                } else if (fail) {
+                    // wrapper exceptions are rethrown as is
+                    throw new RemoteTransportException("simulated remote failure", new IllegalArgumentException());
+                } else if (failWithException) {
+                    throw new IllegalStateException("simulated failure");
+                }
+            });
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(randomIntBetween(1, 3));
+        try {
+            if (error) {
+                final AssertionError e = expectThrows(AssertionError.class,
+                    () -> EsExecutors.runConcurrently(tasks, randomIntBetween(1, 8), executor));
+                assertThat(e.getMessage(), equalTo("simulated error"));
+            } else {
+                expectThrows(RemoteTransportException.class, () -> EsExecutors.runConcurrently(tasks, randomIntBetween(1, 8), executor));
+            }
+        } finally {
+            terminate(executor);
+        }
+        assertThat(runs.get(), equalTo(numTasks));
+    }
+
 }
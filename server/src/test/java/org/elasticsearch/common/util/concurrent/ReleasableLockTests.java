@@ -26,10 +26,26 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BrokenBarrierException;
 import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class ReleasableLockTests extends ESTestCase {
 
+    public void testTryAcquire() throws InterruptedException {
+        final ReleasableLock lock = new ReleasableLock(new ReentrantLock());
+        try (ReleasableLock locked = lock.tryAcquire()) {
+            assertSame(lock, locked);
+            assertTrue(lock.isHeldByCurrentThread());
+            final AtomicBoolean acquiredByOtherThread = new AtomicBoolean(true);
+            final Thread thread = new Thread(() -> acquiredByOtherThread.set(lock.tryAcquire() != null));
+            thread.start();
+            thread.join();
+            assertFalse(acquiredByOtherThread.get());
+        }
+        assertFalse(lock.isHeldByCurrentThread());
+    }
+
     /**
      * Test that accounting on whether or not a thread holds a releasable lock is correct. Previously we had a bug where on a re-entrant
      * lock that if a thread entered the lock twice we would declare that it does not hold the lock after it exits its first entrance but
@@ -21,6 +21,7 @@ package org.elasticsearch.common.util.concurrent;
 import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.logging.DeprecationLogger;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.tasks.Task;
 import org.elasticsearch.test.ESTestCase;
 
 import java.io.IOException;
@@ -370,6 +371,36 @@ public class ThreadContextTests extends ESTestCase {
         }
     }
 
+    public void testSerializeDefaultHeaderOverriddenByRequestHeader() throws IOException {
+        BytesStreamOutput out = new BytesStreamOutput();
+        {
+            Settings build = Settings.builder().put("request.headers.default", "1").put("request.headers.other", "2").build();
+            ThreadContext threadContext = new ThreadContext(build);
+            threadContext.putHeader("default", "3");
+            threadContext.putHeader("foo", "bar");
+            threadContext.writeTo(out);
+        }
+        {
+            ThreadContext otherThreadContext = new ThreadContext(Settings.EMPTY);
+            otherThreadContext.readHeaders(out.bytes().streamInput());
+            assertEquals(Map.of("default", "3", "other", "2", "foo", "bar"), otherThreadContext.getHeaders());
+        }
+    }
+
+    public void testStashContextKeepsOpaqueId() {
+        ThreadContext threadContext = new ThreadContext(Settings.EMPTY);
+        threadContext.putHeader(Task.X_OPAQUE_ID, "opaque");
+        threadContext.putHeader("foo", "bar");
+        try (ThreadContext.StoredContext ctx = threadContext.stashContext()) {
+            assertEquals(Map.of(Task.X_OPAQUE_ID, "opaque"), threadContext.getHeaders());
+            threadContext.putHeader("foo", "baz");
+            assertEquals("baz", threadContext.getHeader("foo"));
+            expectThrows(IllegalArgumentException.class, () -> threadContext.putHeader(Task.X_OPAQUE_ID, "other"));
+        }
+        assertEquals("bar", threadContext.getHeader("foo"));
+        assertEquals("opaque", threadContext.getHeader(Task.X_OPAQUE_ID));
+    }
+
     public void testCanResetDefault() {
         Settings build = Settings.builder().put("request.headers.default", "1").build();
         ThreadContext threadContext = new ThreadContext(build);
@@ -47,6 +47,7 @@ import org.mockito.ArgumentCaptor;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -55,6 +56,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
@@ -431,6 +435,65 @@ public class GatewayMetaStateTests extends ESAllocationTestCase {
         }
     }
 
+    public void testConcurrentIndexWritesRollBackOnFailure() throws IOException {
+        try (NodeEnvironment env = newNodeEnvironment()) {
+            final String failingIndexUUID = "index" + randomIntBetween(0, 9);
+            final AtomicBoolean fail = new AtomicBoolean();
+            final MetaStateService metaStateService = new MetaStateService(env, xContentRegistry()) {
+                @Override
+                public long writeIndex(String reason, IndexMetaData indexMetaData) throws WriteStateException {
+                    if (fail.get() && indexMetaData.getIndexUUID().equals(failingIndexUUID)) {
+                        throw new WriteStateException(false, "simulated", new IOException("simulated"));
+                    }
+                    return super.writeIndex(reason, indexMetaData);
+                }
+            };
+            metaStateService.writeManifestAndCleanup("startup", Manifest.empty());
+
+            final List<IndexMetaData> indices = new ArrayList<>();
+            final List<GatewayMetaState.IndexMetaDataAction> newIndices = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                final IndexMetaData indexMetaData = IndexMetaData.builder("index" + i).settings(
+                        Settings.builder()
+                                .put(IndexMetaData.SETTING_INDEX_UUID, "index" + i)
+                                .put(IndexMetaData.SETTING_NUMBER_OF_SHARDS, 1)
+                                .put(IndexMetaData.SETTING_NUMBER_OF_REPLICAS, 0)
+                                .put(IndexMetaData.SETTING_VERSION_CREATED, Version.CURRENT)
+                                .build()
+                ).build();
+                indices.add(indexMetaData);
+                newIndices.add(new GatewayMetaState.WriteNewIndexMetaData(indexMetaData));
+            }
+
+            final ExecutorService executor = Executors.newFixedThreadPool(randomIntBetween(1, 4));
+            try {
+                GatewayMetaState.AtomicClusterStateWriter writer =
+                        new GatewayMetaState.AtomicClusterStateWriter(metaStateService, Manifest.empty());
+                final Map<Index, Long> generations = writer.writeIndices(newIndices, randomIntBetween(1, 8), executor);
+                assertThat(generations.size(), equalTo(indices.size()));
+                final Manifest manifest = new Manifest(1L, 1L, -1L, generations);
+                writer.writeManifestAndCleanup("manifest", manifest);
+
+                final List<GatewayMetaState.IndexMetaDataAction> changedIndices = new ArrayList<>();
+                for (IndexMetaData indexMetaData : indices) {
+                    changedIndices.add(new GatewayMetaState.WriteChangedIndexMetaData(indexMetaData,
+                            IndexMetaData.builder(indexMetaData).version(indexMetaData.getVersion() + 1).build()));
+                }
+                fail.set(true);
+                final GatewayMetaState.AtomicClusterStateWriter failingWriter =
+                        new GatewayMetaState.AtomicClusterStateWriter(metaStateService, manifest);
+                expectThrows(WriteStateException.class, () -> failingWriter.writeIndices(changedIndices, randomIntBetween(1, 8), executor));
+            } finally {
+                terminate(executor);
+            }
+
+            // the metadata of the indices that were written successfully has been rolled back
+            for (IndexMetaData indexMetaData : indices) {
+                assertThat(metaStateService.loadIndexState(indexMetaData.getIndex()), equalTo(indexMetaData));
+            }
+        }
+    }
+
     public void testAddCustomMetaDataOnUpgrade() throws Exception {
         MetaData metaData = randomMetaData();
         MetaDataUpgrader metaDataUpgrader = new MetaDataUpgrader(
@@ -0,0 +1,158 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.index;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.store.Directory;
+import org.elasticsearch.common.lucene.index.ElasticsearchDirectoryReader;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.index.fielddata.IndexFieldData;
+import org.elasticsearch.index.fielddata.IndexFieldDataService;
+import org.elasticsearch.index.mapper.MappedFieldType;
+import org.elasticsearch.index.mapper.MapperService;
+import org.elasticsearch.index.mapper.TextFieldMapper;
+import org.elasticsearch.index.shard.IndexShard;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.index.warmer.ShardIndexWarmerService;
+import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.test.IndexSettingsModule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IndexWarmerTests extends ESTestCase {
+
+    public void testFieldDataWarmerLoadsSegmentsBeforeGlobalOrdinals() throws Exception {
+        final int numSegments = randomIntBetween(2, 5);
+        try (Directory dir = newDirectory();
+             IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE))) {
+            for (int i = 0; i < numSegments; i++) {
+                final Document doc = new Document();
+                doc.add(new StringField("field", "value" + i, Field.Store.NO));
+                writer.addDocument(doc);
+                writer.commit();
+            }
+            final ShardId shardId = new ShardId("test", "_na_", 0);
+            try (ElasticsearchDirectoryReader reader = ElasticsearchDirectoryReader.wrap(DirectoryReader.open(writer), shardId)) {
+                assertThat(reader.leaves().size(), equalTo(numSegments));
+
+                final MappedFieldType fieldType = new TextFieldMapper.TextFieldType();
+                fieldType.setName("field");
+                fieldType.setEagerGlobalOrdinals(true);
+                final AtomicInteger segmentLoads = new AtomicInteger();
+                final AtomicInteger globalLoads = new AtomicInteger();
+                final List<Runnable> tasks = new ArrayList<>();
+                final IndexWarmer.FieldDataWarmer warmer =
+                    new IndexWarmer.FieldDataWarmer(tasks::add, fieldDataService(fieldType, segmentLoads, globalLoads));
+
+                final IndexWarmer.TerminationHandle handle = warmer.warmReader(indexShard(shardId, fieldType), reader);
+                // one task per segment, the global ordinals are built by the last of them
+                assertThat(tasks.size(), equalTo(numSegments));
+                Collections.shuffle(tasks, random());
+                for (Runnable task : tasks.subList(0, numSegments - 1)) {
+                    task.run();
+                }
+                assertThat(segmentLoads.get(), equalTo(numSegments - 1));
+                assertThat(globalLoads.get(), equalTo(0));
+
+                tasks.get(numSegments - 1).run();
+                assertThat(segmentLoads.get(), equalTo(numSegments));
+                assertThat(globalLoads.get(), equalTo(1));
+                handle.awaitTermination();
+            }
+        }
+    }
+
+    public void testFieldDataWarmerBuildsDocValuesGlobalOrdinalsInOneTask() throws Exception {
+        try (Directory dir = newDirectory();
+             IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE))) {
+            final int numSegments = randomIntBetween(2, 5);
+            for (int i = 0; i < numSegments; i++) {
+                writer.addDocument(new Document());
+                writer.commit();
+            }
+            final ShardId shardId = new ShardId("test", "_na_", 0);
+            try (ElasticsearchDirectoryReader reader = ElasticsearchDirectoryReader.wrap(DirectoryReader.open(writer), shardId)) {
+                final MappedFieldType fieldType = new TextFieldMapper.TextFieldType();
+                fieldType.setName("field");
+                fieldType.setEagerGlobalOrdinals(true);
+                fieldType.setHasDocValues(true);
+                final AtomicInteger segmentLoads = new AtomicInteger();
+                final AtomicInteger globalLoads = new AtomicInteger();
+                final List<Runnable> tasks = new ArrayList<>();
+                final IndexWarmer.FieldDataWarmer warmer =
+                    new IndexWarmer.FieldDataWarmer(tasks::add, fieldDataService(fieldType, segmentLoads, globalLoads));
+
+                final IndexWarmer.TerminationHandle handle = warmer.warmReader(indexShard(shardId, fieldType), reader);
+                // doc values are not cached per segment, so there is nothing to load ahead of the global ordinals
+                assertThat(tasks.size(), equalTo(1));
+                tasks.get(0).run();
+                assertThat(globalLoads.get(), equalTo(1));
+                handle.awaitTermination();
+            }
+        }
+    }
+
+    private static IndexShard indexShard(ShardId shardId, MappedFieldType fieldType) {
+        final MapperService mapperService = mock(MapperService.class);
+        when(mapperService.fieldTypes()).thenReturn(Collections.singletonList(fieldType));
+        final IndexShard indexShard = mock(IndexShard.class);
+        when(indexShard.mapperService()).thenReturn(mapperService);
+        when(indexShard.warmerService()).thenReturn(
+            new ShardIndexWarmerService(shardId, IndexSettingsModule.newIndexSettings("test", Settings.EMPTY)));
+        return indexShard;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static IndexFieldDataService fieldDataService(MappedFieldType fieldType, AtomicInteger segmentLoads,
+                                                          AtomicInteger globalLoads) {
+        final IndexFieldData.Global<?> fieldData = mock(IndexFieldData.Global.class);
+        doAnswer(invocation -> {
+            // segments are loaded ahead of the global ordinals, the global ordinals then find them in the cache
+            if (globalLoads.get() == 0) {
+                segmentLoads.incrementAndGet();
+            }
+            return null;
+        }).when(fieldData).load(any(LeafReaderContext.class));
+        doAnswer(invocation -> {
+            globalLoads.incrementAndGet();
+            return fieldData;
+        }).when(fieldData).loadGlobal(any(DirectoryReader.class));
+        final IndexFieldDataService fieldDataService = mock(IndexFieldDataService.class);
+        doReturn(fieldData).when(fieldDataService).getForField(fieldType);
+        return fieldDataService;
+    }
+}
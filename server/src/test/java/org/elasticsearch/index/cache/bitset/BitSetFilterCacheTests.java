@@ -37,6 +37,7 @@ import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.RAMDirectory;
 import org.apache.lucene.util.Accountable;
 import org.apache.lucene.util.BitSet;
+import org.apache.lucene.util.MatchAllBitSet;
 import org.elasticsearch.common.lucene.index.ElasticsearchDirectoryReader;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.core.internal.io.IOUtils;
@@ -50,6 +51,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
 
 public class BitSetFilterCacheTests extends ESTestCase {
 
@@ -126,6 +129,31 @@ public class BitSetFilterCacheTests extends ESTestCase {
         assertThat(cache.getLoadedFilters().weight(), equalTo(0L));
     }
 
+    public void testBitsetFromQueryMatchingAllDocs() throws IOException {
+        try (IndexWriter writer = new IndexWriter(new RAMDirectory(), new IndexWriterConfig(new StandardAnalyzer()))) {
+            final int numDocs = randomIntBetween(1, 500);
+            for (int i = 0; i < numDocs; i++) {
+                Document document = new Document();
+                document.add(new StringField("field", "value", Field.Store.NO));
+                document.add(new StringField("parity", i % 2 == 0 ? "even" : "odd", Field.Store.NO));
+                writer.addDocument(document);
+            }
+            writer.forceMerge(1);
+            try (DirectoryReader reader = DirectoryReader.open(writer)) {
+                final LeafReaderContext context = reader.leaves().get(0);
+                final BitSet all = BitsetFilterCache.bitsetFromQuery(new TermQuery(new Term("field", "value")), context);
+                assertThat(all, instanceOf(MatchAllBitSet.class));
+                assertThat(all.cardinality(), equalTo(numDocs));
+
+                final BitSet even = BitsetFilterCache.bitsetFromQuery(new TermQuery(new Term("parity", "even")), context);
+                if (numDocs > 1) {
+                    assertThat(even, not(instanceOf(MatchAllBitSet.class)));
+                }
+                assertThat(even.cardinality(), equalTo((numDocs + 1) / 2));
+            }
+        }
+    }
+
     public void testListener() throws IOException {
         IndexWriter writer = new IndexWriter(
                 new RAMDirectory(),
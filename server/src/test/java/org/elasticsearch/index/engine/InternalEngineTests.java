@@ -129,6 +129,7 @@ import org.elasticsearch.index.seqno.RetentionLease;
 import org.elasticsearch.index.seqno.RetentionLeases;
 import org.elasticsearch.index.seqno.SeqNoStats;
 import org.elasticsearch.index.seqno.SequenceNumbers;
+import org.elasticsearch.index.shard.DocsStats;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.index.shard.ShardPath;
 import org.elasticsearch.index.shard.ShardUtils;
@@ -607,6 +608,34 @@ public class InternalEngineTests extends EngineTestCase {
         }
     }
 
+    public void testDocAndSegmentsStatsFollowRefreshes() throws Exception {
+        try (Store store = createStore();
+             Engine engine = createEngine(defaultSettings, store, createTempDir(), NoMergePolicy.INSTANCE)) {
+            final int numDocs = randomIntBetween(1, 10);
+            for (int i = 0; i < numDocs; i++) {
+                engine.index(indexForDoc(testParsedDocument(Integer.toString(i), null, testDocumentWithTextField(), B_1, null)));
+            }
+            engine.refresh("test");
+            assertThat(engine.docStats().getCount(), equalTo((long) numDocs));
+            assertThat(engine.segmentsStats(false, false).getCount(), equalTo(1L));
+
+            // the returned stats can be modified by the caller without affecting the next calls
+            engine.docStats().add(new DocsStats(1, 1, 1));
+            engine.segmentsStats(false, false).add(1, 1);
+            assertThat(engine.docStats().getCount(), equalTo((long) numDocs));
+            assertThat(engine.segmentsStats(false, false).getCount(), equalTo(1L));
+
+            engine.index(indexForDoc(testParsedDocument("new", null, testDocumentWithTextField(), B_1, null)));
+            // the index writer memory is never cached
+            assertThat(engine.segmentsStats(false, false).getIndexWriterMemoryInBytes(), greaterThan(0L));
+            engine.refresh("test");
+            assertThat(engine.docStats().getCount(), equalTo((long) numDocs + 1));
+            assertThat(engine.segmentsStats(false, false).getCount(), equalTo(2L));
+            assertThat(engine.segmentsStats(true, false).getFileSizes().size(), greaterThan(0));
+            assertThat(engine.segmentsStats(false, false).getFileSizes().size(), equalTo(0));
+        }
+    }
+
     public void testSegmentsWithSoftDeletes() throws Exception {
         Settings.Builder settings = Settings.builder()
             .put(defaultSettings.getSettings())
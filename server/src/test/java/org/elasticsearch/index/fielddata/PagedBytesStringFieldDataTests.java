@@ -19,10 +19,54 @@
 
 package org.elasticsearch.index.fielddata;
 
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.util.BytesRef;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.hamcrest.Matchers.equalTo;
+
 public class PagedBytesStringFieldDataTests extends AbstractStringFieldDataTestCase {
 
     @Override
     protected String getFieldDataType() {
         return "string";
     }
+
+    public void testLookupFrontCodedTerms() throws Exception {
+        final TreeSet<BytesRef> terms = new TreeSet<>();
+        final int numDocs = randomIntBetween(1, 1000);
+        for (int i = 0; i < numDocs; i++) {
+            Document d = new Document();
+            // terms that share prefixes of various lengths, including terms that are a prefix of other terms
+            final String value = randomFrom("", "a", "ab", "abc", "elastic") + randomAlphaOfLengthBetween(0, 3)
+                + (randomBoolean() ? "" : randomRealisticUnicodeOfLengthBetween(0, 100));
+            terms.add(new BytesRef(value));
+            d.add(new StringField("value", value, Field.Store.NO));
+            writer.addDocument(d);
+        }
+        writer.forceMerge(1);
+        final List<LeafReaderContext> contexts = refreshReader();
+        assertThat(contexts.size(), equalTo(1));
+        final List<BytesRef> expected = new ArrayList<>(terms);
+
+        final IndexOrdinalsFieldData ifd = getForField("value");
+        final AtomicOrdinalsFieldData afd = ifd.load(contexts.get(0));
+        SortedSetDocValues values = afd.getOrdinalsValues();
+        assertThat(values.getValueCount(), equalTo((long) expected.size()));
+        for (int ord = 0; ord < expected.size(); ord++) {
+            assertThat(values.lookupOrd(ord), equalTo(expected.get(ord)));
+        }
+        values = afd.getOrdinalsValues();
+        for (int i = 0; i < 1000; i++) {
+            final int ord = randomIntBetween(0, expected.size() - 1);
+            assertThat(values.lookupOrd(ord), equalTo(expected.get(ord)));
+        }
+    }
 }
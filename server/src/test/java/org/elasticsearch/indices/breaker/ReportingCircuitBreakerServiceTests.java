@@ -0,0 +1,68 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.elasticsearch.indices.breaker;
+
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.breaker.CircuitBreakingException;
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.common.util.LongArray;
+import org.elasticsearch.common.util.MockPageCacheRecycler;
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ReportingCircuitBreakerServiceTests extends ESTestCase {
+
+    public void testReportsBytesAccountedOnBreaker() {
+        final Settings settings = Settings.builder()
+            .put(HierarchyCircuitBreakerService.USE_REAL_MEMORY_USAGE_SETTING.getKey(), false)
+            .put(HierarchyCircuitBreakerService.REQUEST_CIRCUIT_BREAKER_LIMIT_SETTING.getKey(), "10mb")
+            .build();
+        try (CircuitBreakerService service = new HierarchyCircuitBreakerService(settings,
+            new ClusterSettings(settings, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS))) {
+            final AtomicLong reported = new AtomicLong();
+            final CircuitBreakerService reporting = new ReportingCircuitBreakerService(service, CircuitBreaker.REQUEST,
+                reported::addAndGet);
+            final CircuitBreaker requestBreaker = reporting.getBreaker(CircuitBreaker.REQUEST);
+
+            requestBreaker.addEstimateBytesAndMaybeBreak(100, "test");
+            requestBreaker.addWithoutBreaking(-40);
+            assertEquals(60L, reported.get());
+            assertEquals(60L, service.getBreaker(CircuitBreaker.REQUEST).getUsed());
+
+            expectThrows(CircuitBreakingException.class, () -> requestBreaker.addEstimateBytesAndMaybeBreak(20 * 1024 * 1024, "test"));
+            assertEquals("bytes that were not accounted must not be reported", 60L, reported.get());
+
+            reporting.getBreaker(CircuitBreaker.FIELDDATA).addEstimateBytesAndMaybeBreak(100, "test");
+            assertEquals("only the request breaker is reported", 60L, reported.get());
+            service.getBreaker(CircuitBreaker.FIELDDATA).addWithoutBreaking(-100);
+
+            final BigArrays bigArrays = new BigArrays(new MockPageCacheRecycler(Settings.EMPTY), service, CircuitBreaker.REQUEST)
+                .withCircuitBreaking().withBreakerService(reporting);
+            try (LongArray array = bigArrays.newLongArray(randomIntBetween(1, 100_000))) {
+                assertEquals(60L + array.ramBytesUsed(), reported.get());
+            }
+            assertEquals(60L, reported.get());
+            requestBreaker.addWithoutBreaking(-60);
+            assertEquals(0L, service.getBreaker(CircuitBreaker.REQUEST).getUsed());
+        }
+    }
+}
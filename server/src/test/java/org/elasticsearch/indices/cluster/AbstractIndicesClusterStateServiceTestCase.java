@@ -79,6 +79,15 @@ public abstract class AbstractIndicesClusterStateServiceTestCase extends ESTestC
         enableRandomFailures = false;
     }
 
+    private volatile Consumer<IndexMetaData> mappingUpdateListener = indexMetaData -> {};
+
+    /**
+     * Sets a listener that is notified of every mapping update on the thread applying it, and can fail the update by throwing
+     */
+    protected void setMappingUpdateListener(Consumer<IndexMetaData> mappingUpdateListener) {
+        this.mappingUpdateListener = mappingUpdateListener;
+    }
+
     protected void failRandomly() {
         if (enableRandomFailures && rarely()) {
             throw new RuntimeException("dummy test failure");
@@ -279,6 +288,7 @@ public abstract class AbstractIndicesClusterStateServiceTestCase extends ESTestC
         @Override
         public boolean updateMapping(final IndexMetaData currentIndexMetaData, final IndexMetaData newIndexMetaData) throws IOException {
             failRandomly();
+            mappingUpdateListener.accept(newIndexMetaData);
             return false;
         }
 
@@ -73,8 +73,12 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import static org.elasticsearch.cluster.metadata.IndexMetaData.SETTING_AUTO_EXPAND_REPLICAS;
@@ -258,6 +262,91 @@ public class IndicesClusterStateServiceRandomUpdatesTests extends AbstractIndice
 
     }
 
+    public void testConcurrentMappingUpdates() throws Exception {
+        disableRandomFailures();
+        final DiscoveryNode node = createNode(DiscoveryNodeRole.MASTER_ROLE, DiscoveryNodeRole.DATA_ROLE);
+        final ClusterState initialState = ClusterStateCreationUtils.state(node, node, node);
+        ClusterState state = initialState;
+        for (int i = randomIntBetween(2, 10); i > 0; i--) {
+            final Settings settings = Settings.builder().put(SETTING_NUMBER_OF_SHARDS, 1).put(SETTING_NUMBER_OF_REPLICAS, 0).build();
+            state = cluster.createIndex(state, new CreateIndexRequest("index_" + i, settings).waitForActiveShards(ActiveShardCount.NONE));
+        }
+        // the allocation deciders randomly refuse to allocate shards
+        while (state.getRoutingNodes().hasUnassignedShards()) {
+            state = cluster.reroute(state, new ClusterRerouteRequest());
+        }
+        final List<String> indices = new ArrayList<>();
+        for (ShardRouting shardRouting : state.getRoutingNodes().node(node.getId())) {
+            indices.add(shardRouting.getIndexName());
+        }
+        assertThat(indices.size(), equalTo(state.metaData().indices().size()));
+
+        final ExecutorService genericExecutor = Executors.newFixedThreadPool(randomIntBetween(1, 4));
+        try {
+            final IndicesClusterStateService indicesCSSvc = createIndicesClusterStateService(node, RecordingIndicesService::new,
+                genericExecutor, randomIntBetween(2, 8));
+            indicesCSSvc.start();
+
+            // the first two mapping updates only complete once they run at the same time
+            final CountDownLatch concurrentUpdates = new CountDownLatch(2);
+            final Set<String> failCreatedIndices = new HashSet<>(randomSubsetOf(indices));
+            setMappingUpdateListener(mappingUpdateListener(concurrentUpdates, failCreatedIndices));
+            indicesCSSvc.applyClusterState(new ClusterChangedEvent("create indices",
+                adaptClusterStateToLocalNode(state, node), adaptClusterStateToLocalNode(initialState, node)));
+            assertThat(concurrentUpdates.getCount(), equalTo(0L));
+            assertMappingUpdatesApplied(state, indicesCSSvc, indices, failCreatedIndices);
+
+            // update the metadata of the indices that were created successfully
+            final ClusterState previousState = state;
+            final List<String> updatedIndices = new ArrayList<>(indices);
+            updatedIndices.removeAll(failCreatedIndices);
+            final Set<String> failUpdatedIndices = new HashSet<>(randomSubsetOf(updatedIndices));
+            final MetaData.Builder metaData = MetaData.builder(state.metaData());
+            for (String index : updatedIndices) {
+                final IndexMetaData indexMetaData = state.metaData().index(index);
+                metaData.put(IndexMetaData.builder(indexMetaData).mappingVersion(indexMetaData.getMappingVersion() + 1));
+            }
+            state = ClusterState.builder(state).metaData(metaData).build();
+            setMappingUpdateListener(mappingUpdateListener(new CountDownLatch(0), failUpdatedIndices));
+            indicesCSSvc.applyClusterState(new ClusterChangedEvent("update indices",
+                adaptClusterStateToLocalNode(state, node), adaptClusterStateToLocalNode(previousState, node)));
+            assertMappingUpdatesApplied(state, indicesCSSvc, updatedIndices, failUpdatedIndices);
+        } finally {
+            terminate(genericExecutor);
+        }
+    }
+
+    private static Consumer<IndexMetaData> mappingUpdateListener(CountDownLatch concurrentUpdates, Set<String> failingIndices) {
+        return indexMetaData -> {
+            concurrentUpdates.countDown();
+            try {
+                assertTrue(concurrentUpdates.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+            if (failingIndices.contains(indexMetaData.getIndex().getName())) {
+                throw new IllegalStateException("simulated mapping failure for " + indexMetaData.getIndex());
+            }
+        };
+    }
+
+    private void assertMappingUpdatesApplied(ClusterState state, IndicesClusterStateService indicesCSSvc, List<String> indices,
+                                             Set<String> failingIndices) {
+        final MockIndicesService indicesService = (MockIndicesService) indicesCSSvc.indicesService;
+        for (String name : indices) {
+            final Index index = state.metaData().index(name).getIndex();
+            final ShardId shardId = new ShardId(index, 0);
+            if (failingIndices.contains(name)) {
+                assertNull(indicesService.indexService(index));
+                assertTrue(indicesCSSvc.failedShardsCache.containsKey(shardId));
+            } else {
+                assertNotNull(indicesService.indexService(index));
+                assertNotNull(indicesService.indexService(index).getShardOrNull(0));
+                assertFalse(indicesCSSvc.failedShardsCache.containsKey(shardId));
+            }
+        }
+    }
+
     public ClusterState randomInitialClusterState(Map<DiscoveryNode, IndicesClusterStateService> clusterStateServiceMap,
                                                   Supplier<MockIndicesService> indicesServiceSupplier) {
         List<DiscoveryNode> allNodes = new ArrayList<>();
@@ -454,10 +543,20 @@ public class IndicesClusterStateServiceRandomUpdatesTests extends AbstractIndice
 
     private IndicesClusterStateService createIndicesClusterStateService(DiscoveryNode discoveryNode,
                                                                         final Supplier<MockIndicesService> indicesServiceSupplier) {
+        // the mock index services fail randomly, which is only possible on the test thread
+        return createIndicesClusterStateService(discoveryNode, indicesServiceSupplier, mock(ExecutorService.class), 1);
+    }
+
+    private IndicesClusterStateService createIndicesClusterStateService(DiscoveryNode discoveryNode,
+                                                                        final Supplier<MockIndicesService> indicesServiceSupplier,
+                                                                        final ExecutorService genericExecutor,
+                                                                        final int maxConcurrentMappingUpdates) {
         final ThreadPool threadPool = mock(ThreadPool.class);
-        when(threadPool.generic()).thenReturn(mock(ExecutorService.class));
+        when(threadPool.generic()).thenReturn(genericExecutor);
         final MockIndicesService indicesService = indicesServiceSupplier.get();
-        final Settings settings = Settings.builder().put("node.name", discoveryNode.getName()).build();
+        final Settings settings = Settings.builder().put("node.name", discoveryNode.getName())
+            .put(IndicesClusterStateService.INDICES_CLUSTER_MAX_CONCURRENT_MAPPING_UPDATES_SETTING.getKey(), maxConcurrentMappingUpdates)
+            .build();
         final TransportService transportService = new TransportService(settings, mock(Transport.class), threadPool,
             TransportService.NOOP_TRANSPORT_INTERCEPTOR,
             boundAddress -> DiscoveryNode.createLocal(settings, boundAddress.publishAddress(), UUIDs.randomBase64UUID()), null,
@@ -76,6 +76,7 @@ import org.elasticsearch.search.internal.SearchContext;
 import org.elasticsearch.search.internal.ShardSearchLocalRequest;
 import org.elasticsearch.search.internal.ShardSearchTransportRequest;
 import org.elasticsearch.search.suggest.SuggestBuilder;
+import org.elasticsearch.tasks.Task;
 import org.elasticsearch.test.ESSingleNodeTestCase;
 
 import java.io.IOException;
@@ -89,6 +90,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 import static java.util.Collections.singletonList;
@@ -102,6 +104,7 @@ import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.Matchers.greaterThan;
 
 public class SearchServiceTests extends ESSingleNodeTestCase {
 
@@ -119,6 +122,10 @@ public class SearchServiceTests extends ESSingleNodeTestCase {
 
         static final String DUMMY_SCRIPT = "dummyScript";
 
+        static final String RESERVED_MEMORY_INDEX = "reserved_memory_index";
+        /** The status of the task of the last query phase on {@link #RESERVED_MEMORY_INDEX}, taken before its aggregators are released */
+        static final AtomicReference<Task.Status> QUERY_PHASE_STATUS = new AtomicReference<>();
+
         @Override
         protected Map<String, Function<Map<String, Object>, Object>> pluginScripts() {
             return Collections.singletonMap(DUMMY_SCRIPT, vars -> "dummy");
@@ -152,6 +159,9 @@ public class SearchServiceTests extends ESSingleNodeTestCase {
                     } else {
                         assertThat(Thread.currentThread().getName(), startsWith("elasticsearch[node_s_0][search]"));
                     }
+                    if (RESERVED_MEMORY_INDEX.equals(context.indexShard().shardId().getIndex().getName())) {
+                        QUERY_PHASE_STATUS.set(context.getTask().getStatus());
+                    }
                 }
             });
         }
@@ -162,6 +172,21 @@ public class SearchServiceTests extends ESSingleNodeTestCase {
         return Settings.builder().put("search.default_search_timeout", "5s").build();
     }
 
+    public void testSearchTaskReportsReservedMemory() {
+        createIndex(CustomScriptPlugin.RESERVED_MEMORY_INDEX);
+        client().prepareIndex(CustomScriptPlugin.RESERVED_MEMORY_INDEX, "_doc", "1").setSource("field", "value")
+            .setRefreshPolicy(IMMEDIATE).get();
+        CustomScriptPlugin.QUERY_PHASE_STATUS.set(null);
+        SearchResponse response = client().prepareSearch(CustomScriptPlugin.RESERVED_MEMORY_INDEX)
+            .addAggregation(new TermsAggregationBuilder("terms", ValueType.STRING).field("field.keyword")).get();
+        assertHitCount(response, 1);
+
+        // the aggregators of the shard search still hold their arrays when the query phase completes
+        Task.Status status = CustomScriptPlugin.QUERY_PHASE_STATUS.get();
+        assertThat(status, instanceOf(SearchTask.Status.class));
+        assertThat(((SearchTask.Status) status).getReservedMemoryInBytes(), greaterThan(0L));
+    }
+
     public void testClearOnClose() {
         createIndex("index");
         client().prepareIndex("index", "type", "1").setSource("field", "value").setRefreshPolicy(IMMEDIATE).get();
@@ -0,0 +1,98 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.search.aggregations.bucket;
+
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.common.util.MockBigArrays;
+import org.elasticsearch.common.util.MockPageCacheRecycler;
+import org.elasticsearch.indices.breaker.NoneCircuitBreakerService;
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.equalTo;
+
+public class LongKeyedBucketOrdsTests extends ESTestCase {
+
+    private final BigArrays bigArrays = new MockBigArrays(new MockPageCacheRecycler(Settings.EMPTY), new NoneCircuitBreakerService());
+
+    public void testCollectsFromSingleBucket() {
+        assertOrds(true, 1);
+    }
+
+    public void testCollectsFromManyBuckets() {
+        assertOrds(false, randomIntBetween(1, 100));
+    }
+
+    private void assertOrds(boolean collectsFromSingleBucket, int numOwningBucketOrds) {
+        // the expected buckets of each owning bucket ordinal, in the order they were added
+        final List<Map<Long, Long>> expected = new ArrayList<>();
+        final List<List<Long>> expectedValues = new ArrayList<>();
+        for (int i = 0; i < numOwningBucketOrds; i++) {
+            expected.add(new HashMap<>());
+            expectedValues.add(new ArrayList<>());
+        }
+        try (LongKeyedBucketOrds ords = LongKeyedBucketOrds.build(bigArrays, collectsFromSingleBucket)) {
+            long nextOrd = 0;
+            final int iters = randomIntBetween(1, 10000);
+            for (int i = 0; i < iters; i++) {
+                final int owningBucketOrd = randomInt(numOwningBucketOrds - 1);
+                final long value = randomBoolean() ? randomLong() : randomInt(100);
+                final Long ord = expected.get(owningBucketOrd).get(value);
+                if (ord == null) {
+                    assertThat(ords.add(owningBucketOrd, value), equalTo(nextOrd));
+                    expected.get(owningBucketOrd).put(value, nextOrd++);
+                    expectedValues.get(owningBucketOrd).add(value);
+                } else {
+                    assertThat(ords.add(owningBucketOrd, value), equalTo(-1 - ord));
+                }
+                if (rarely()) {
+                    // enumerating while still adding has to see the new buckets too
+                    assertBuckets(ords, expected, expectedValues);
+                }
+            }
+            assertThat(ords.size(), equalTo(nextOrd));
+            assertBuckets(ords, expected, expectedValues);
+            if (collectsFromSingleBucket == false) {
+                assertThat(ords.bucketsInOrd(numOwningBucketOrds), equalTo(0L));
+                assertFalse(ords.ordsEnum(numOwningBucketOrds).next());
+                assertThat(ords.find(numOwningBucketOrds, 0), equalTo(-1L));
+            }
+        }
+    }
+
+    private void assertBuckets(LongKeyedBucketOrds ords, List<Map<Long, Long>> expected, List<List<Long>> expectedValues) {
+        for (int owningBucketOrd = 0; owningBucketOrd < expected.size(); owningBucketOrd++) {
+            assertThat(ords.bucketsInOrd(owningBucketOrd), equalTo((long) expectedValues.get(owningBucketOrd).size()));
+            final LongKeyedBucketOrds.BucketOrdsEnum ordsEnum = ords.ordsEnum(owningBucketOrd);
+            for (long value : expectedValues.get(owningBucketOrd)) {
+                assertTrue(ordsEnum.next());
+                assertThat(ordsEnum.value(), equalTo(value));
+                assertThat(ordsEnum.ord(), equalTo(expected.get(owningBucketOrd).get(value)));
+                assertThat(ords.find(owningBucketOrd, value), equalTo(ordsEnum.ord()));
+            }
+            assertFalse(ordsEnum.next());
+        }
+    }
+}
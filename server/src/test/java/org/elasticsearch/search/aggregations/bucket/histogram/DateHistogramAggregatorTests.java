@@ -39,6 +39,7 @@ import org.elasticsearch.search.aggregations.MultiBucketConsumerService.TooManyB
 import org.elasticsearch.search.aggregations.support.AggregationInspectionHelper;
 
 import java.io.IOException;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -906,6 +907,39 @@ public class DateHistogramAggregatorTests extends AggregatorTestCase {
             histogram -> {}, 5, false));
     }
 
+    public void testSubDateHistogram() throws IOException {
+        testBothCases(new MatchAllDocsQuery(), dataset,
+            aggregation -> aggregation.calendarInterval(DateHistogramInterval.YEAR).field(DATE_FIELD).minDocCount(1L)
+                .subAggregation(AggregationBuilders.dateHistogram("month").calendarInterval(DateHistogramInterval.MONTH)
+                    .field(DATE_FIELD).minDocCount(1L)),
+            histogram -> {
+                List<? extends Histogram.Bucket> buckets = histogram.getBuckets();
+                assertEquals(6, buckets.size());
+                for (Histogram.Bucket bucket : buckets) {
+                    final ZonedDateTime year = (ZonedDateTime) bucket.getKey();
+                    final InternalDateHistogram months = bucket.getAggregations().get("month");
+                    long docCount = 0;
+                    for (Histogram.Bucket month : months.getBuckets()) {
+                        assertEquals(year.getYear(), ((ZonedDateTime) month.getKey()).getYear());
+                        docCount += month.getDocCount();
+                    }
+                    assertEquals(bucket.getDocCount(), docCount);
+                }
+
+                InternalDateHistogram months = buckets.get(0).getAggregations().get("month");
+                assertEquals(2, months.getBuckets().size());
+                assertEquals("2010-03-01T00:00:00.000Z", months.getBuckets().get(0).getKeyAsString());
+                assertEquals("2010-04-01T00:00:00.000Z", months.getBuckets().get(1).getKeyAsString());
+
+                months = buckets.get(3).getAggregations().get("month");
+                assertEquals(3, months.getBuckets().size());
+                assertEquals("2015-02-01T00:00:00.000Z", months.getBuckets().get(0).getKeyAsString());
+                assertEquals("2015-06-01T00:00:00.000Z", months.getBuckets().get(1).getKeyAsString());
+                assertEquals("2015-11-01T00:00:00.000Z", months.getBuckets().get(2).getKeyAsString());
+            }, false
+        );
+    }
+
     public void testMaxBucketDeprecated() throws IOException {
         Query query = new MatchAllDocsQuery();
         List<String> timestamps = Arrays.asList(
@@ -0,0 +1,78 @@
+/*
+ * Licensed to Elasticsearch under one or more contributor
+ * license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright
+ * ownership. Elasticsearch licenses this file to you under
+ * the Apache License, Version 2.0 (the "License"); you may
+ * not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.elasticsearch.search.fetch.subphase;
+
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.document.DocumentField;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.sort.SortOrder;
+import org.elasticsearch.test.ESSingleNodeTestCase;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class DocValueFieldsFetchSubPhaseTests extends ESSingleNodeTestCase {
+
+    public void testMultipleFieldsAcrossSegments() throws Exception {
+        createIndex("test", client().admin().indices().prepareCreate("test")
+            .addMapping("_doc", "keyword", "type=keyword", "long", "type=long", "double", "type=double", "sparse", "type=keyword"));
+        int numDocs = randomIntBetween(5, 30);
+        for (int i = 0; i < numDocs; i++) {
+            if (i % 3 == 0) {
+                client().prepareIndex("test", "_doc", Integer.toString(i))
+                    .setSource("keyword", "value" + i, "long", i, "double", i / 2.0, "sparse", Arrays.asList("b" + i, "a" + i)).get();
+            } else {
+                client().prepareIndex("test", "_doc", Integer.toString(i))
+                    .setSource("keyword", "value" + i, "long", i, "double", i / 2.0).get();
+            }
+            if (randomBoolean()) {
+                // create several segments so that doc values have to be reloaded while walking the hits
+                client().admin().indices().prepareRefresh("test").get();
+            }
+        }
+        client().admin().indices().prepareRefresh("test").get();
+
+        SearchResponse response = client().prepareSearch("test")
+            .setQuery(QueryBuilders.matchAllQuery())
+            .setSize(numDocs)
+            .addSort("long", randomFrom(SortOrder.values()))
+            .addDocValueField("keyword")
+            .addDocValueField("long")
+            .addDocValueField("double")
+            .addDocValueField("sparse")
+            .addDocValueField("unmapped")
+            .get();
+        assertEquals(numDocs, response.getHits().getHits().length);
+        for (SearchHit hit : response.getHits().getHits()) {
+            int i = Integer.parseInt(hit.getId());
+            assertEquals(Collections.singletonList("value" + i), hit.field("keyword").getValues());
+            assertEquals(Collections.singletonList((long) i), hit.field("long").getValues());
+            assertEquals(Collections.singletonList(i / 2.0), hit.field("double").getValues());
+            DocumentField sparse = hit.field("sparse");
+            if (i % 3 == 0) {
+                assertEquals(Arrays.asList("a" + i, "b" + i), sparse.getValues());
+            } else {
+                assertTrue(sparse.getValues().isEmpty());
+            }
+            assertNull(hit.field("unmapped"));
+        }
+    }
+}
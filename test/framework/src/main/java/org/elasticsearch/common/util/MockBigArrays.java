@@ -81,6 +81,7 @@ public class MockBigArrays extends BigArrays {
     private final Random random;
     private final PageCacheRecycler recycler;
     private final CircuitBreakerService breakerService;
+    private final boolean checkBreaker;
 
     public MockBigArrays(PageCacheRecycler recycler, CircuitBreakerService breakerService) {
         this(recycler, breakerService, false);
@@ -90,6 +91,7 @@ public class MockBigArrays extends BigArrays {
         super(recycler, breakerService, CircuitBreaker.REQUEST, checkBreaker);
         this.recycler = recycler;
         this.breakerService = breakerService;
+        this.checkBreaker = checkBreaker;
         long seed;
         try {
             seed = SeedUtils.parseSeed(RandomizedContext.current().getRunnerSeedAsString());
@@ -105,6 +107,11 @@ public class MockBigArrays extends BigArrays {
         return new MockBigArrays(this.recycler, this.breakerService, true);
     }
 
+    @Override
+    public BigArrays withBreakerService(CircuitBreakerService breakerService) {
+        return new MockBigArrays(this.recycler, breakerService, this.checkBreaker);
+    }
+
     @Override
     public ByteArray newByteArray(long size, boolean clearOnResize) {
         final ByteArrayWrapper array = new ByteArrayWrapper(super.newByteArray(size, clearOnResize), clearOnResize);
@@ -19,7 +19,9 @@ import org.elasticsearch.xpack.sql.proto.StringUtils;
 import java.io.IOException;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static java.util.Collections.unmodifiableList;
@@ -38,8 +40,16 @@ public class SqlQueryResponse extends ActionResponse implements ToXContentObject
     private List<ColumnInfo> columns;
     // TODO investigate reusing Page here - it probably is much more efficient
     private List<List<Object>> rows;
+    // rendering only, pages after the first one have no columns to decide this from
+    private boolean[] dictionaryEncodedColumns;
     private static final String INTERVAL_CLASS_NAME = "Interval";
 
+    /**
+     * Rendering parameter that, in columnar mode, writes columns of strings as a dictionary of their distinct values plus one ordinal
+     * per row instead of repeating every value.
+     */
+    public static final String DICTIONARY_ENCODING = "dictionary_encoding";
+
     public SqlQueryResponse(StreamInput in) throws IOException {
         super(in);
         cursor = in.readString();
@@ -121,6 +131,35 @@ public class SqlQueryResponse extends ActionResponse implements ToXContentObject
         return this;
     }
 
+    /**
+     * The columns that are dictionary encoded when rendering with {@link #DICTIONARY_ENCODING}. Unless set explicitly, which
+     * pages after the first one need since they carry no columns, this is decided from the column types.
+     */
+    @Nullable
+    public boolean[] dictionaryEncodedColumns() {
+        if (dictionaryEncodedColumns == null && columns != null) {
+            return dictionaryEncodedColumns(columns);
+        }
+        return dictionaryEncodedColumns;
+    }
+
+    public SqlQueryResponse dictionaryEncodedColumns(boolean[] dictionaryEncodedColumns) {
+        this.dictionaryEncodedColumns = dictionaryEncodedColumns;
+        return this;
+    }
+
+    /**
+     * Decides which of the given columns are dictionary encoded: those of string types, which hold repeated values the most.
+     */
+    public static boolean[] dictionaryEncodedColumns(List<ColumnInfo> columns) {
+        boolean[] encoded = new boolean[columns.size()];
+        for (int i = 0; i < encoded.length; i++) {
+            String esType = columns.get(i).esType();
+            encoded[i] = "keyword".equals(esType) || "text".equals(esType);
+        }
+        return encoded;
+    }
+
     @Override
     public void writeTo(StreamOutput out) throws IOException {
         out.writeString(cursor);
@@ -166,13 +205,18 @@ public class SqlQueryResponse extends ActionResponse implements ToXContentObject
                     columnsCount = rows().get(0).size();
                 }
 
+                boolean[] encoded = params.paramAsBoolean(DICTIONARY_ENCODING, false) ? dictionaryEncodedColumns() : null;
                 builder.startArray("values");
                 for (int index = 0; index < columnsCount; index++) {
-                    builder.startArray();
-                    for (List<Object> row : rows()) {
-                        value(builder, mode, row.get(index));
+                    if (encoded != null && encoded[index]) {
+                        dictionaryEncodedColumn(builder, index);
+                    } else {
+                        builder.startArray();
+                        for (List<Object> row : rows()) {
+                            value(builder, mode, row.get(index));
+                        }
+                        builder.endArray();
                     }
-                    builder.endArray();
                 }
                 builder.endArray();
             } else {
@@ -194,6 +238,35 @@ public class SqlQueryResponse extends ActionResponse implements ToXContentObject
         return builder.endObject();
     }
 
+    /**
+     * Writes a column of strings as an object holding the distinct values, in order of first appearance, under {@code dictionary}
+     * and for every row the position of its value in the dictionary, or {@code null}, under {@code ordinals}.
+     */
+    private void dictionaryEncodedColumn(XContentBuilder builder, int index) throws IOException {
+        Map<Object, Integer> dictionary = new LinkedHashMap<>();
+        int[] ordinals = new int[rows.size()];
+        for (int r = 0; r < ordinals.length; r++) {
+            Object value = rows.get(r).get(index);
+            ordinals[r] = value == null ? -1 : dictionary.computeIfAbsent(value, v -> dictionary.size());
+        }
+        builder.startObject();
+        builder.startArray("dictionary");
+        for (Object value : dictionary.keySet()) {
+            builder.value(value);
+        }
+        builder.endArray();
+        builder.startArray("ordinals");
+        for (int ordinal : ordinals) {
+            if (ordinal == -1) {
+                builder.nullValue();
+            } else {
+                builder.value(ordinal);
+            }
+        }
+        builder.endArray();
+        builder.endObject();
+    }
+
     /**
      * Serializes the provided value in SQL-compatible way based on the client mode
      */
@@ -8,6 +8,7 @@ package org.elasticsearch.xpack.sql.action;
 import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.common.xcontent.ToXContent;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.common.xcontent.XContentFactory;
 import org.elasticsearch.common.xcontent.XContentHelper;
@@ -124,6 +125,58 @@ public class SqlQueryResponseTests extends AbstractSerializingTestCase<SqlQueryR
         }
     }
 
+    public void testToXContentColumnarWithDictionaryEncoding() throws IOException {
+        int rowCount = between(1, 20);
+        String[] dictionary = generateRandomStringArray(5, 5, false, false);
+        List<List<Object>> rows = new ArrayList<>(rowCount);
+        for (int r = 0; r < rowCount; r++) {
+            // the first column holds strings, the second one numbers which must not be encoded
+            rows.add(Arrays.asList(randomBoolean() ? randomFrom(dictionary) : null, randomLong()));
+        }
+        SqlQueryResponse testInstance;
+        if (randomBoolean()) {
+            // the first page decides from the column types
+            List<ColumnInfo> columns = Arrays.asList(new ColumnInfo("", "string", randomFrom("keyword", "text")),
+                new ColumnInfo("", "number", "long"));
+            testInstance = new SqlQueryResponse("", randomFrom(Mode.values()), true, columns, rows);
+        } else {
+            // the following pages have no columns, the decision is carried over from the first page
+            testInstance = new SqlQueryResponse("", randomFrom(Mode.values()), true, null, rows)
+                .dictionaryEncodedColumns(new boolean[] { true, false });
+        }
+
+        XContentBuilder builder = testInstance.toXContent(XContentFactory.jsonBuilder(),
+            new ToXContent.MapParams(Collections.singletonMap(SqlQueryResponse.DICTIONARY_ENCODING, "true")));
+        Map<String, Object> rootMap = XContentHelper.convertToMap(BytesReference.bytes(builder), false, builder.contentType()).v2();
+
+        List<?> values = (List<?>) rootMap.get("values");
+        assertThat(values, hasSize(2));
+        Map<?, ?> encoded = (Map<?, ?>) values.get(0);
+        List<?> encodedDictionary = (List<?>) encoded.get("dictionary");
+        List<?> ordinals = (List<?>) encoded.get("ordinals");
+        assertThat(ordinals, hasSize(rowCount));
+        assertEquals(encodedDictionary.size(), encodedDictionary.stream().distinct().count());
+        for (int r = 0; r < rowCount; r++) {
+            Integer ordinal = (Integer) ordinals.get(r);
+            assertEquals(rows.get(r).get(0), ordinal == null ? null : encodedDictionary.get(ordinal));
+        }
+        List<?> numbers = (List<?>) values.get(1);
+        for (int r = 0; r < rowCount; r++) {
+            assertEquals(rows.get(r).get(1), ((Number) numbers.get(r)).longValue());
+        }
+    }
+
+    public void testDictionaryEncodedColumnsFromTypes() {
+        List<ColumnInfo> columns = Arrays.asList(new ColumnInfo("", "a", "keyword"), new ColumnInfo("", "b", "text"),
+            new ColumnInfo("", "c", "integer"), new ColumnInfo("", "d", "datetime"));
+        assertArrayEquals(new boolean[] { true, true, false, false }, SqlQueryResponse.dictionaryEncodedColumns(columns));
+
+        SqlQueryResponse withColumns = new SqlQueryResponse("", randomFrom(Mode.values()), true, columns, Collections.emptyList());
+        assertArrayEquals(new boolean[] { true, true, false, false }, withColumns.dictionaryEncodedColumns());
+        SqlQueryResponse withoutColumns = new SqlQueryResponse("", randomFrom(Mode.values()), true, null, Collections.emptyList());
+        assertNull(withoutColumns.dictionaryEncodedColumns());
+    }
+
     @Override
     protected SqlQueryResponse doParseInstance(XContentParser parser) {
         org.elasticsearch.xpack.sql.proto.SqlQueryResponse response =
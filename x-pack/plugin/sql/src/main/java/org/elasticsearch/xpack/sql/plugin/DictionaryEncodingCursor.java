@@ -0,0 +1,95 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License;
+ * you may not use this file except in compliance with the Elastic License.
+ */
+package org.elasticsearch.xpack.sql.plugin;
+
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.xpack.sql.session.Configuration;
+import org.elasticsearch.xpack.sql.session.Cursor;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static org.elasticsearch.action.ActionListener.wrap;
+
+/**
+ * The cursor that carries which columns of a columnar result are dictionary encoded, as decided from the column types of the first page
+ */
+public class DictionaryEncodingCursor implements Cursor {
+    public static final String NAME = "d";
+
+    private final Cursor delegate;
+    private final boolean[] dictionaryEncodedColumns;
+
+    DictionaryEncodingCursor(Cursor delegate, boolean[] dictionaryEncodedColumns) {
+        this.delegate = delegate;
+        this.dictionaryEncodedColumns = dictionaryEncodedColumns;
+    }
+
+    public DictionaryEncodingCursor(StreamInput in) throws IOException {
+        delegate = in.readNamedWriteable(Cursor.class);
+        dictionaryEncodedColumns = new boolean[in.readVInt()];
+        for (int i = 0; i < dictionaryEncodedColumns.length; i++) {
+            dictionaryEncodedColumns[i] = in.readBoolean();
+        }
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeNamedWriteable(delegate);
+        out.writeVInt(dictionaryEncodedColumns.length);
+        for (boolean encoded : dictionaryEncodedColumns) {
+            out.writeBoolean(encoded);
+        }
+    }
+
+    public boolean[] getDictionaryEncodedColumns() {
+        return dictionaryEncodedColumns;
+    }
+
+    @Override
+    public void nextPage(Configuration cfg, Client client, NamedWriteableRegistry registry, ActionListener<Page> listener) {
+        // keep wrapping the encoded columns
+        delegate.nextPage(cfg, client, registry,
+                wrap(p -> {
+                    Cursor next = p.next();
+                    listener.onResponse(next == Cursor.EMPTY ? p
+                            : new Page(p.rowSet(), new DictionaryEncodingCursor(next, dictionaryEncodedColumns)));
+                }, listener::onFailure));
+    }
+
+    @Override
+    public void clear(Configuration cfg, Client client, ActionListener<Boolean> listener) {
+        delegate.clear(cfg, client, listener);
+    }
+
+    @Override
+    public String getWriteableName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DictionaryEncodingCursor that = (DictionaryEncodingCursor) o;
+        return Objects.equals(delegate, that.delegate) &&
+                Arrays.equals(dictionaryEncodedColumns, that.dictionaryEncodedColumns);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(delegate, Arrays.hashCode(dictionaryEncodedColumns));
+    }
+}
@@ -8,6 +8,7 @@ package org.elasticsearch.xpack.sql.plugin;
 
 import org.apache.logging.log4j.LogManager;
 import org.elasticsearch.client.node.NodeClient;
+import org.elasticsearch.common.collect.Tuple;
 import org.elasticsearch.common.logging.DeprecationLogger;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.common.xcontent.XContentParser;
@@ -23,9 +24,12 @@ import org.elasticsearch.xpack.sql.action.SqlQueryAction;
 import org.elasticsearch.xpack.sql.action.SqlQueryRequest;
 import org.elasticsearch.xpack.sql.action.SqlQueryResponse;
 import org.elasticsearch.xpack.sql.proto.Protocol;
+import org.elasticsearch.xpack.sql.session.Cursor;
+import org.elasticsearch.xpack.sql.session.Cursors;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
 
 import static org.elasticsearch.rest.RestRequest.Method.GET;
 import static org.elasticsearch.rest.RestRequest.Method.POST;
@@ -93,6 +97,11 @@ public class RestSqlQueryAction extends BaseRestHandler {
                     + "txt, csv or tsv formats");
         }
 
+        boolean dictionaryEncoding = request.paramAsBoolean(SqlQueryResponse.DICTIONARY_ENCODING, false);
+        if (dictionaryEncoding && sqlRequest.columnar() == false) {
+            throw new IllegalArgumentException("Invalid use of [" + SqlQueryResponse.DICTIONARY_ENCODING + "] argument: can only be used "
+                    + "in combination with the [columnar] argument");
+        }
         long startNanos = System.nanoTime();
         return channel -> client.execute(SqlQueryAction.INSTANCE, sqlRequest, new RestResponseListener<SqlQueryResponse>(channel) {
             @Override
@@ -101,6 +110,9 @@ public class RestSqlQueryAction extends BaseRestHandler {
 
                 // XContent branch
                 if (xContentType != null) {
+                    if (dictionaryEncoding) {
+                        carryDictionaryEncodedColumns(response);
+                    }
                     XContentBuilder builder = channel.newBuilder(request.getXContentType(), xContentType, true);
                     response.toXContent(builder, request);
                     restResponse = new BytesRestResponse(RestStatus.OK, builder);
@@ -123,6 +135,28 @@ public class RestSqlQueryAction extends BaseRestHandler {
         });
     }
 
+    /**
+     * Only the first page has columns to decide which of them are dictionary encoded from, so the decision is wrapped in the
+     * cursor to keep encoding the same columns on the following pages.
+     */
+    private static void carryDictionaryEncodedColumns(SqlQueryResponse response) {
+        Cursor cursor = null;
+        ZoneId zoneId = null;
+        // check if the cursor is already wrapped first
+        if (response.hasCursor()) {
+            Tuple<Cursor, ZoneId> tuple = Cursors.decodeFromStringWithZone(response.cursor());
+            cursor = tuple.v1();
+            zoneId = tuple.v2();
+            if (cursor instanceof DictionaryEncodingCursor) {
+                response.dictionaryEncodedColumns(((DictionaryEncodingCursor) cursor).getDictionaryEncodedColumns());
+            }
+        }
+        if (response.columns() != null && cursor != null) {
+            boolean[] dictionaryEncodedColumns = SqlQueryResponse.dictionaryEncodedColumns(response.columns());
+            response.cursor(Cursors.encodeToString(new DictionaryEncodingCursor(cursor, dictionaryEncodedColumns), zoneId));
+        }
+    }
+
     @Override
     public String getName() {
         return "sql_query";
@@ -97,6 +97,15 @@ public class CursorTests extends ESTestCase {
                     } else {
                         return ScrollCursorTests.randomScrollCursor();
                     }
+                },
+                () -> {
+                    SqlQueryResponse response = createRandomSqlResponse();
+                    if (response.columns() != null) {
+                        return new DictionaryEncodingCursor(ScrollCursorTests.randomScrollCursor(),
+                            SqlQueryResponse.dictionaryEncodedColumns(response.columns()));
+                    } else {
+                        return ScrollCursorTests.randomScrollCursor();
+                    }
                 }
         );
         return cursorSupplier.get();